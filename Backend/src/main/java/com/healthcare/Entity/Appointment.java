@@ -9,7 +9,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(
+        name = "appointments",
+        indexes = @Index(name = "idx_appointment_scheduled_at", columnList = "scheduledAt")
+)
 @Getter
 @Setter
 @NoArgsConstructor
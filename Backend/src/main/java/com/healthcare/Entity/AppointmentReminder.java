@@ -0,0 +1,52 @@
+package com.healthcare.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a reminder that has come due. The unique key doubles as the
+ * de-duplication guard: a reminder is only sent by whoever inserts this row.
+ * It is inserted as PENDING and only marked SENT once every sender accepted it,
+ * so a crash or a failing channel leaves it behind for a retry.
+ */
+@Entity
+@Table(
+        name = "appointment_reminders",
+        uniqueConstraints = @UniqueConstraint(
+                columnNames = {"appointment_id", "reminder_type", "scheduled_for"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentReminder extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "appointment_id", nullable = false)
+    private Appointment appointment;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reminder_type", nullable = false)
+    private ReminderType reminderType;
+
+    // appointment time the reminder was for, so a rescheduled appointment is reminded again
+    @Column(name = "scheduled_for", nullable = false)
+    private LocalDateTime scheduledFor;
+
+    // time of the latest delivery attempt
+    @Column(name = "fired_at", nullable = false)
+    private LocalDateTime firedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReminderStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+}
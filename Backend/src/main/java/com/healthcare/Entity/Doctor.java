@@ -1,21 +1,32 @@
 package com.healthcare.Entity;
 
+import com.healthcare.geo.DoctorGeoListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
-@Table(name = "doctors")
+@Table(
+        name = "doctors",
+        indexes = @Index(name = "idx_doctor_rating", columnList = "rating")
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @AttributeOverride(name="id", column = @Column(name="doctor_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctor")
+@EntityListeners(DoctorGeoListener.class)
+@DynamicUpdate
 
 public class Doctor extends BaseEntity{
 
@@ -26,15 +37,31 @@ public class Doctor extends BaseEntity{
     @Column(nullable = false)
     private String location;
 
+    // WGS84 coordinates of the practice; null until the doctor sets them
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "consultation_fee", nullable = false)
     private BigDecimal consultationFee;
 
+    // Bayesian-smoothed score, refreshed from ratingCount/ratingSum whenever a review is added;
+    // starts at the prior mean so unreviewed doctors are not ranked below poorly reviewed ones.
+    // Writers lock the row first, and @DynamicUpdate keeps other updates off these columns.
     private float rating;
 
+    @Column(name = "rating_count", nullable = false)
+    private int ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
     @OneToMany(mappedBy = "doctor")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctorSpecializations")
     private List<DoctorSpecialization> specializations;
 
     @OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "doctorAvailabilitySlots")
     private List<DoctorAvailability> availabilitySlots;
 
     @OneToMany(mappedBy = "doctor")
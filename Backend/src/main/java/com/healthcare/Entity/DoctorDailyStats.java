@@ -0,0 +1,54 @@
+package com.healthcare.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One doctor's activity on one calendar day: paid revenue by payment date and
+ * appointment counts by current status, bucketed on the appointment's scheduled date.
+ */
+@Entity
+@Table(
+        name = "doctor_daily_stats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"doctor_id", "stats_date"}),
+        indexes = @Index(name = "idx_doctor_daily_stats_day", columnList = "stats_date")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DoctorDailyStats extends BaseEntity {
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "stats_date", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+
+    @Column(name = "booked_count", nullable = false)
+    private long bookedCount;
+
+    @Column(name = "confirmed_count", nullable = false)
+    private long confirmedCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private long cancelledCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    public DoctorDailyStats(Long doctorId, LocalDate day) {
+        this.doctorId = doctorId;
+        this.day = day;
+    }
+}
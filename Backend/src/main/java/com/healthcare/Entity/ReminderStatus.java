@@ -0,0 +1,5 @@
+package com.healthcare.Entity;
+
+public enum ReminderStatus {
+    PENDING, SENT, SKIPPED;
+}
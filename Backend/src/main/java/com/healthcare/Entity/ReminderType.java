@@ -0,0 +1,18 @@
+package com.healthcare.Entity;
+
+import java.time.Duration;
+
+public enum ReminderType {
+    DAY_BEFORE(Duration.ofHours(24)),
+    HOUR_BEFORE(Duration.ofHours(1));
+
+    private final Duration lead;
+
+    ReminderType(Duration lead) {
+        this.lead = lead;
+    }
+
+    public Duration getLead() {
+        return lead;
+    }
+}
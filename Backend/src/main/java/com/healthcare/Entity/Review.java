@@ -0,0 +1,38 @@
+package com.healthcare.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(
+        name = "reviews",
+        uniqueConstraints = @UniqueConstraint(columnNames = "appointment_id"),
+        indexes = @Index(name = "idx_review_doctor", columnList = "doctor_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Review extends BaseEntity {
+
+    @OneToOne
+    @JoinColumn(name = "appointment_id", nullable = false, unique = true)
+    private Appointment appointment;
+
+    @ManyToOne
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @ManyToOne
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient;
+
+    @Column(nullable = false)
+    private int rating; // 1..5
+
+    @Column(length = 1000)
+    private String comment;
+}
@@ -1,5 +1,6 @@
 package com.healthcare.Entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.OneToMany;
@@ -8,6 +9,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -17,12 +20,15 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "specialization")
 public class Specialization extends BaseEntity {
 
     @Column(nullable = false, unique = true)
     private String name;
 
     @OneToMany(mappedBy = "specialization")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "specializationDoctors")
     private List<DoctorSpecialization> doctors;
 }
 
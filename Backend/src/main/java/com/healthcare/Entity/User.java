@@ -2,6 +2,8 @@ package com.healthcare.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
@@ -13,6 +15,8 @@ import java.time.LocalDate;
 @Setter
 @ToString
 @AttributeOverride(name = "id", column = @Column(name = "user_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 
 public class User extends BaseEntity {
 
@@ -0,0 +1,5 @@
+package com.healthcare.Entity;
+
+public enum WaitlistStatus {
+    WAITING, FULFILLED, WITHDRAWN, EXPIRED;
+}
@@ -0,0 +1,138 @@
+package com.healthcare.catalog;
+
+import com.healthcare.Entity.Specialization;
+import com.healthcare.dto.SpecializationDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of specializations and the doctors practising them.
+ *
+ * Specialization ids are kept in a sorted long[] and every per-specialization
+ * structure lives at the same index, so a lookup is one binary search followed
+ * by array reads. Instances are never modified after build(); a change produces
+ * a new snapshot.
+ */
+public final class SpecializationCatalog {
+
+    private static final long[] NO_DOCTORS = new long[0];
+
+    public static final SpecializationCatalog EMPTY = build(List.of(), List.of());
+
+    private final long[] specializationIds;
+    // doctor ids per specialization, ascending
+    private final long[][] doctorIds;
+    // the same doctors ordered by experience, most experienced first, with their years alongside
+    private final long[][] doctorIdsByExperience;
+    private final int[][] experienceYears;
+    private final List<SpecializationDTO> specializations;
+
+    private SpecializationCatalog(long[] specializationIds, long[][] doctorIds, long[][] doctorIdsByExperience,
+                                  int[][] experienceYears, List<SpecializationDTO> specializations) {
+        this.specializationIds = specializationIds;
+        this.doctorIds = doctorIds;
+        this.doctorIdsByExperience = doctorIdsByExperience;
+        this.experienceYears = experienceYears;
+        this.specializations = specializations;
+    }
+
+    /**
+     * @param links rows of [specializationId, doctorId, experienceYears]
+     */
+    public static SpecializationCatalog build(List<Specialization> specs, List<Object[]> links) {
+        Map<Long, List<long[]>> grouped = new HashMap<>();
+        for (Object[] row : links) {
+            long specId = ((Number) row[0]).longValue();
+            long doctorId = ((Number) row[1]).longValue();
+            long years = ((Number) row[2]).longValue();
+            grouped.computeIfAbsent(specId, k -> new ArrayList<>()).add(new long[]{doctorId, years});
+        }
+
+        List<Specialization> sorted = new ArrayList<>(specs);
+        sorted.sort(Comparator.comparing(Specialization::getId));
+
+        int n = sorted.size();
+        long[] ids = new long[n];
+        long[][] byId = new long[n][];
+        long[][] byExperience = new long[n][];
+        int[][] years = new int[n][];
+        List<SpecializationDTO> dtos = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            Specialization s = sorted.get(i);
+            ids[i] = s.getId();
+            List<long[]> rows = grouped.getOrDefault(s.getId(), List.of());
+
+            long[] asc = new long[rows.size()];
+            for (int j = 0; j < asc.length; j++) {
+                asc[j] = rows.get(j)[0];
+            }
+            Arrays.sort(asc);
+            byId[i] = asc;
+
+            List<long[]> ranked = new ArrayList<>(rows);
+            ranked.sort((a, b) -> Long.compare(b[1], a[1]));
+            byExperience[i] = new long[ranked.size()];
+            years[i] = new int[ranked.size()];
+            for (int j = 0; j < ranked.size(); j++) {
+                byExperience[i][j] = ranked.get(j)[0];
+                years[i][j] = (int) ranked.get(j)[1];
+            }
+
+            dtos.add(new SpecializationDTO(s.getId(), s.getName(), asc.length));
+        }
+        dtos.sort(Comparator.comparing(SpecializationDTO::getName, String.CASE_INSENSITIVE_ORDER));
+
+        return new SpecializationCatalog(ids, byId, byExperience, years, List.copyOf(dtos));
+    }
+
+    public List<SpecializationDTO> getSpecializations() {
+        return specializations;
+    }
+
+    public boolean contains(long specializationId) {
+        return Arrays.binarySearch(specializationIds, specializationId) >= 0;
+    }
+
+    /**
+     * Doctor ids for a specialization in ascending order; empty if the id is unknown.
+     */
+    public long[] doctorIds(long specializationId) {
+        int idx = Arrays.binarySearch(specializationIds, specializationId);
+        return idx < 0 ? NO_DOCTORS : doctorIds[idx].clone();
+    }
+
+    /**
+     * Doctor ids (ascending) for a specialization with at least minExperienceYears of experience.
+     */
+    public long[] doctorIds(long specializationId, int minExperienceYears) {
+        int idx = Arrays.binarySearch(specializationIds, specializationId);
+        if (idx < 0) {
+            return NO_DOCTORS;
+        }
+        int count = countAtLeast(experienceYears[idx], minExperienceYears);
+        long[] result = Arrays.copyOf(doctorIdsByExperience[idx], count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    // years is sorted descending; binary search for the first entry below the threshold
+    static int countAtLeast(int[] years, int min) {
+        int lo = 0;
+        int hi = years.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (years[mid] >= min) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
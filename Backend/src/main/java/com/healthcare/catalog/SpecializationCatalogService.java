@@ -0,0 +1,43 @@
+package com.healthcare.catalog;
+
+import com.healthcare.repository.DoctorSpecializationRepository;
+import com.healthcare.repository.SpecializationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current SpecializationCatalog. Readers just dereference the volatile
+ * field and never block; writers rebuild a full snapshot and swap it in.
+ */
+@Component
+public class SpecializationCatalogService {
+
+    @Autowired
+    private SpecializationRepository specializationRepository;
+
+    @Autowired
+    private DoctorSpecializationRepository doctorSpecializationRepository;
+
+    private volatile SpecializationCatalog catalog = SpecializationCatalog.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    public SpecializationCatalog get() {
+        return catalog;
+    }
+
+    /**
+     * Reloads specializations and doctor links and publishes the new snapshot.
+     * Serialised so two overlapping refreshes cannot publish out of order.
+     */
+    public synchronized void refresh() {
+        catalog = SpecializationCatalog.build(
+                specializationRepository.findAll(),
+                doctorSpecializationRepository.findAllLinks());
+    }
+}
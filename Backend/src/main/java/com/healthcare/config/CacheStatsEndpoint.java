@@ -0,0 +1,57 @@
+package com.healthcare.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint (/actuator/cachestats) reporting Hibernate second-level and
+ * query cache hit ratios, overall and per region.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public Map<String, Object> cacheStats() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("secondLevel", counters(stats.getSecondLevelCacheHitCount(),
+                stats.getSecondLevelCacheMissCount(), stats.getSecondLevelCachePutCount()));
+        result.put("queryCache", counters(stats.getQueryCacheHitCount(),
+                stats.getQueryCacheMissCount(), stats.getQueryCachePutCount()));
+
+        Map<String, Object> regions = new TreeMap<>();
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics r = stats.getCacheRegionStatistics(region);
+            if (r != null) {
+                regions.put(region, counters(r.getHitCount(), r.getMissCount(), r.getPutCount()));
+            }
+        }
+        result.put("regions", regions);
+        return result;
+    }
+
+    private static Map<String, Object> counters(long hits, long misses, long puts) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("hits", hits);
+        m.put("misses", misses);
+        m.put("puts", puts);
+        long lookups = hits + misses;
+        m.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return m;
+    }
+}
@@ -1,13 +1,14 @@
 package com.healthcare.controller;
 
 import com.healthcare.dto.AppointmentRequest;
+import com.healthcare.dto.RescheduleRequest;
+import com.healthcare.idempotency.IdempotencyService;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.security.AuthTokenFilter;
 import com.healthcare.service.AppointmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/appointments")
@@ -16,9 +17,38 @@ public class AppointmentController {
     @Autowired
     private AppointmentService appointmentService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @PostMapping("/book")
-    public ResponseEntity<Void> book(@RequestBody AppointmentRequest req) {
-        appointmentService.bookAppointment(req);
+    public ResponseEntity<Void> book(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                     @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                     @RequestBody AppointmentRequest req) {
+        return idempotencyService.execute("book:" + principal.getUserId(), idempotencyKey, req, () -> {
+            appointmentService.bookAppointment(req, principal);
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<Void> cancel(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                       @PathVariable Long id) {
+        appointmentService.cancelAppointment(id, principal);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/{id}/reschedule")
+    public ResponseEntity<Void> reschedule(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                           @PathVariable Long id,
+                                           @RequestBody RescheduleRequest req) {
+        appointmentService.rescheduleAppointment(id, req, principal);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<Void> complete(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                         @PathVariable Long id) {
+        appointmentService.completeAppointment(id, principal);
         return ResponseEntity.ok().build();
     }
 }
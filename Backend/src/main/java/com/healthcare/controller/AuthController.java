@@ -1,8 +1,15 @@
 package com.healthcare.controller;
 
+import com.healthcare.dto.AuthResponse;
 import com.healthcare.dto.LoginRequest;
+import com.healthcare.dto.RefreshRequest;
 import com.healthcare.dto.SignupRequest;
+import com.healthcare.dto.TokenResponse;
 import com.healthcare.dto.UserResponse;
+import com.healthcare.idempotency.IdempotencyService;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.security.AuthTokenFilter;
+import com.healthcare.security.TokenService;
 import com.healthcare.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -15,15 +22,41 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @PostMapping("/signup")
-    public ResponseEntity<UserResponse> signup(@RequestBody SignupRequest req) {
-        UserResponse resp = userService.signup(req);
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<UserResponse> signup(@RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                               @RequestBody SignupRequest req) {
+        return idempotencyService.executeAnonymous("signup", idempotencyKey, req, () -> {
+            UserResponse resp = userService.signup(req);
+            return ResponseEntity.ok(resp);
+        });
     }
 
     @PostMapping("/login")
-    public ResponseEntity<UserResponse> login(@RequestBody LoginRequest req) {
-        UserResponse resp = userService.login(req);
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest req) {
+        UserResponse user = userService.login(req);
+        TokenResponse tokens = tokenService.issue(user.getId(), user.getRole());
+        return ResponseEntity.ok(new AuthResponse(user, tokens.getAccessToken(), tokens.getRefreshToken(), tokens.getExpiresIn()));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshRequest req) {
+        return ResponseEntity.ok(tokenService.refresh(req.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest req) {
+        tokenService.revoke(req.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<AuthPrincipal> me(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal) {
+        return ResponseEntity.ok(principal);
     }
 }
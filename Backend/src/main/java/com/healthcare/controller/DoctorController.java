@@ -1,16 +1,23 @@
 package com.healthcare.controller;
 
 import com.healthcare.dto.DoctorDTO;
+import com.healthcare.dto.LocationRequest;
+import com.healthcare.dto.NearbyDoctorDTO;
+import com.healthcare.dto.ReviewDTO;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.security.AuthTokenFilter;
 import com.healthcare.service.DoctorService;
+import com.healthcare.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
 import java.util.List;
 
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
 @RestController
 @RequestMapping("/api/doctors")
 public class DoctorController {
@@ -18,8 +25,20 @@ public class DoctorController {
     @Autowired
     private DoctorService doctorService;
 
+    @Autowired
+    private ReviewService reviewService;
+
     @GetMapping
-    public ResponseEntity<List<DoctorDTO>> getAll() {
+    public ResponseEntity<List<DoctorDTO>> getAll(@RequestParam(required = false) Long specializationId,
+                                                  @RequestParam(defaultValue = "0") int minExperienceYears,
+                                                  @RequestParam(required = false) Float minRating,
+                                                  @RequestParam(required = false) String sort) {
+        if (minRating != null || "rating".equals(sort)) {
+            return ResponseEntity.ok(doctorService.getDoctorsByRating(specializationId, minExperienceYears, minRating == null ? 0 : minRating));
+        }
+        if (specializationId != null) {
+            return ResponseEntity.ok(doctorService.getDoctorsBySpecialization(specializationId, minExperienceYears));
+        }
         return ResponseEntity.ok(doctorService.getAllDoctors());
     }
 
@@ -27,4 +46,32 @@ public class DoctorController {
     public ResponseEntity<DoctorDTO> getById(@PathVariable Long id) {
         return ResponseEntity.ok(doctorService.getDoctorById(id));
     }
+
+    @GetMapping("/{id}/reviews")
+    public ResponseEntity<List<ReviewDTO>> getReviews(@PathVariable Long id,
+                                                      @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(reviewService.getForDoctor(id, Math.min(limit, 100)));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyDoctorDTO>> nearby(@RequestParam double lat,
+                                                        @RequestParam double lon,
+                                                        @RequestParam(defaultValue = "25") double radiusKm,
+                                                        @RequestParam(defaultValue = "20") int limit,
+                                                        @RequestParam(required = false) Long specializationId,
+                                                        @RequestParam(defaultValue = "0") int minExperienceYears,
+                                                        @RequestParam(required = false) BigDecimal maxFee) {
+        return ResponseEntity.ok(doctorService.findNearby(lat, lon, Math.min(radiusKm, 500), Math.min(limit, 100),
+                specializationId, minExperienceYears, maxFee));
+    }
+
+    @PutMapping("/{id}/location")
+    public ResponseEntity<DoctorDTO> updateLocation(@RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal,
+                                                    @PathVariable Long id,
+                                                    @RequestBody LocationRequest req) {
+        if (principal == null) {
+            throw new ResponseStatusException(UNAUTHORIZED, "Login required");
+        }
+        return ResponseEntity.ok(doctorService.updateLocation(id, req, principal));
+    }
 }
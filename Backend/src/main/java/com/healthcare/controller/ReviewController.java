@@ -0,0 +1,24 @@
+package com.healthcare.controller;
+
+import com.healthcare.dto.ReviewDTO;
+import com.healthcare.dto.ReviewRequest;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.security.AuthTokenFilter;
+import com.healthcare.service.ReviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reviews")
+public class ReviewController {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @PostMapping
+    public ResponseEntity<ReviewDTO> submit(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                            @RequestBody ReviewRequest req) {
+        return ResponseEntity.ok(reviewService.submit(req, principal));
+    }
+}
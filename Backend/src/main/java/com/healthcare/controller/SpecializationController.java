@@ -0,0 +1,61 @@
+package com.healthcare.controller;
+
+import com.healthcare.Entity.UserRole;
+import com.healthcare.dto.DoctorSpecializationRequest;
+import com.healthcare.dto.SpecializationDTO;
+import com.healthcare.dto.SpecializationRequest;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.security.AuthTokenFilter;
+import com.healthcare.service.SpecializationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+
+@RestController
+@RequestMapping("/api/specializations")
+public class SpecializationController {
+
+    @Autowired
+    private SpecializationService specializationService;
+
+    @GetMapping
+    public ResponseEntity<List<SpecializationDTO>> getAll() {
+        return ResponseEntity.ok(specializationService.getAllSpecializations());
+    }
+
+    @PostMapping
+    public ResponseEntity<SpecializationDTO> create(@RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal,
+                                                    @RequestBody SpecializationRequest req) {
+        requireAdmin(principal);
+        return ResponseEntity.ok(specializationService.createSpecialization(req));
+    }
+
+    @PutMapping("/{id}/doctors")
+    public ResponseEntity<Void> assignDoctor(@RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal,
+                                             @PathVariable Long id,
+                                             @RequestBody DoctorSpecializationRequest req) {
+        requireAdmin(principal);
+        specializationService.assignDoctor(id, req);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/{id}/doctors/{doctorId}")
+    public ResponseEntity<Void> removeDoctor(@RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal,
+                                             @PathVariable Long id,
+                                             @PathVariable Long doctorId) {
+        requireAdmin(principal);
+        specializationService.removeDoctor(id, doctorId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private void requireAdmin(AuthPrincipal principal) {
+        if (principal == null || principal.getRole() != UserRole.ADMIN) {
+            throw new ResponseStatusException(FORBIDDEN, "Admin access required");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.healthcare.controller;
+
+import com.healthcare.dto.StatsBucketDTO;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.security.AuthTokenFilter;
+import com.healthcare.service.StatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    @Autowired
+    private StatsService statsService;
+
+    @GetMapping
+    public ResponseEntity<List<StatsBucketDTO>> totals(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                                       @RequestParam String from,
+                                                       @RequestParam String to,
+                                                       @RequestParam(defaultValue = "day") String granularity) {
+        return ResponseEntity.ok(statsService.getTotals(from, to, granularity, principal));
+    }
+
+    @GetMapping("/doctors/{doctorId}")
+    public ResponseEntity<List<StatsBucketDTO>> doctor(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                                       @PathVariable Long doctorId,
+                                                       @RequestParam String from,
+                                                       @RequestParam String to,
+                                                       @RequestParam(defaultValue = "day") String granularity) {
+        return ResponseEntity.ok(statsService.getDoctorStats(doctorId, from, to, granularity, principal));
+    }
+}
@@ -0,0 +1,39 @@
+package com.healthcare.controller;
+
+import com.healthcare.dto.WaitlistEntryDTO;
+import com.healthcare.dto.WaitlistRequest;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.security.AuthTokenFilter;
+import com.healthcare.service.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDTO> join(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                                 @RequestBody WaitlistRequest req) {
+        return ResponseEntity.ok(waitlistService.join(req, principal));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> withdraw(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                         @PathVariable Long id) {
+        waitlistService.withdraw(id, principal);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping
+    public ResponseEntity<List<WaitlistEntryDTO>> getForPatient(@RequestAttribute(AuthTokenFilter.PRINCIPAL_ATTRIBUTE) AuthPrincipal principal,
+                                                                @RequestParam Long patientId) {
+        return ResponseEntity.ok(waitlistService.getForPatient(patientId, principal));
+    }
+}
@@ -0,0 +1,15 @@
+package com.healthcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthResponse {
+    private UserResponse user;
+    private String accessToken;
+    private String refreshToken;
+    private long expiresIn; // access token lifetime in seconds
+}
@@ -15,4 +15,7 @@ public class DoctorDTO {
     private String location;
     private BigDecimal consultationFee;
     private float rating;
+    private int ratingCount;
+    private Double latitude;
+    private Double longitude;
 }
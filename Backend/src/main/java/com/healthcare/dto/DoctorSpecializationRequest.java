@@ -0,0 +1,9 @@
+package com.healthcare.dto;
+
+import lombok.Data;
+
+@Data
+public class DoctorSpecializationRequest {
+    private Long doctorId;
+    private int experienceYears;
+}
@@ -0,0 +1,12 @@
+package com.healthcare.dto;
+
+import lombok.Data;
+
+@Data
+public class LocationRequest {
+    private String location; // optional display address
+    private Double latitude;
+    private Double longitude;
+    // removes the doctor from nearby search; omitted coordinates are otherwise left as they are
+    private boolean clearCoordinates;
+}
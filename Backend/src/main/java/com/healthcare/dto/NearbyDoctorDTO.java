@@ -0,0 +1,13 @@
+package com.healthcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyDoctorDTO {
+    private DoctorDTO doctor;
+    private double distanceKm;
+}
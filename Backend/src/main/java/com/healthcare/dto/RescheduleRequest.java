@@ -0,0 +1,8 @@
+package com.healthcare.dto;
+
+import lombok.Data;
+
+@Data
+public class RescheduleRequest {
+    private String scheduledAt; // ISO-8601 LocalDateTime string, e.g. 2026-01-30T14:30
+}
@@ -0,0 +1,20 @@
+package com.healthcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewDTO {
+    private Long id;
+    private Long appointmentId;
+    private Long doctorId;
+    private Long patientId;
+    private int rating;
+    private String comment;
+    private LocalDate createdOn;
+}
@@ -0,0 +1,10 @@
+package com.healthcare.dto;
+
+import lombok.Data;
+
+@Data
+public class ReviewRequest {
+    private Long appointmentId;
+    private int rating; // 1..5
+    private String comment;
+}
@@ -0,0 +1,14 @@
+package com.healthcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpecializationDTO {
+    private Long id;
+    private String name;
+    private int doctorCount;
+}
@@ -0,0 +1,8 @@
+package com.healthcare.dto;
+
+import lombok.Data;
+
+@Data
+public class SpecializationRequest {
+    private String name;
+}
@@ -0,0 +1,23 @@
+package com.healthcare.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+public class StatsBucketDTO {
+    private LocalDate periodStart;
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private long paymentCount;
+    private long bookedCount;
+    private long confirmedCount;
+    private long cancelledCount;
+    private long completedCount;
+
+    public StatsBucketDTO(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+}
@@ -0,0 +1,21 @@
+package com.healthcare.dto;
+
+import com.healthcare.Entity.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDTO {
+    private Long id;
+    private Long patientId;
+    private Long doctorId;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private WaitlistStatus status;
+    private Long appointmentId;
+}
@@ -0,0 +1,11 @@
+package com.healthcare.dto;
+
+import lombok.Data;
+
+@Data
+public class WaitlistRequest {
+    private Long patientId;
+    private Long doctorId;
+    private String windowStart; // ISO-8601 LocalDateTime string, e.g. 2026-01-30T09:00
+    private String windowEnd;
+}
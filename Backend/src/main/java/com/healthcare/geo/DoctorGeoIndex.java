@@ -0,0 +1,251 @@
+package com.healthcare.geo;
+
+import com.healthcare.repository.DoctorRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory uniform lat/lon grid over doctor practice coordinates.
+ *
+ * A query starts in the cell containing the search point and walks outwards ring
+ * by ring, so only cells that can hold an answer are touched. Nearest-k stops as
+ * soon as the k-th best distance is closer than anything an unvisited ring could
+ * contain; radius search stops at the ring that covers the radius.
+ */
+@Component
+public class DoctorGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    private final double cellDegrees;
+    private final int columns;
+    private final int rows;
+
+    // entries and cells are only touched under the lock; writes are rare compared to queries
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+
+    public DoctorGeoIndex(@Value("${geo.index.cell-degrees:0.1}") double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360.0 / cellDegrees);
+        this.rows = (int) Math.ceil(180.0 / cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rowsFound = doctorRepository.findAllCoordinates();
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            cells.clear();
+            for (Object[] r : rowsFound) {
+                insert(new Entry((Long) r[0], (Double) r[1], (Double) r[2], (BigDecimal) r[3]));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or moves a doctor. Null coordinates remove the doctor from the index.
+     */
+    public void upsert(long doctorId, Double latitude, Double longitude, BigDecimal fee) {
+        lock.writeLock().lock();
+        try {
+            delete(doctorId);
+            if (latitude != null && longitude != null) {
+                insert(new Entry(doctorId, latitude, longitude, fee));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long doctorId) {
+        lock.writeLock().lock();
+        try {
+            delete(doctorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit doctors within radiusKm of the point, nearest first.
+     *
+     * @param maxFee       optional upper bound on consultation fee
+     * @param doctorFilter optional extra predicate on the doctor id (e.g. specialization membership)
+     */
+    public List<Hit> nearest(double latitude, double longitude, double radiusKm, int limit,
+                             BigDecimal maxFee, LongPredicate doctorFilter) {
+        if (limit <= 0 || radiusKm <= 0) {
+            return List.of();
+        }
+        // max-heap on distance holding the best candidates found so far
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::getDistanceKm).reversed());
+
+        int row0 = row(latitude);
+        int col0 = col(longitude);
+
+        double radiusDeg = radiusKm / KM_PER_DEGREE;
+        int rowSpan = (int) Math.ceil(radiusDeg / cellDegrees);
+        // longitude cells shrink towards the poles; size the span for the widest latitude in the band
+        double bandLat = Math.min(89.0, Math.abs(latitude) + radiusDeg);
+        double cos = Math.max(0.01, Math.cos(Math.toRadians(bandLat)));
+        int colSpan = Math.min((columns - 1) / 2, (int) Math.ceil(radiusDeg / (cellDegrees * cos)));
+        double minCellKm = cellDegrees * KM_PER_DEGREE * cos;
+
+        lock.readLock().lock();
+        try {
+            int maxRing = Math.max(rowSpan, colSpan);
+            for (int ring = 0; ring <= maxRing; ring++) {
+                for (int dr = -ring; dr <= ring; dr++) {
+                    if (Math.abs(dr) > rowSpan) {
+                        continue;
+                    }
+                    int r = row0 + dr;
+                    if (r < 0 || r >= rows) {
+                        continue;
+                    }
+                    boolean edgeRow = Math.abs(dr) == ring;
+                    for (int dc = -ring; dc <= ring; dc++) {
+                        // interior of the ring was visited on earlier passes
+                        if (!edgeRow && Math.abs(dc) != ring) {
+                            continue;
+                        }
+                        if (Math.abs(dc) > colSpan) {
+                            continue;
+                        }
+                        List<Entry> cell = cells.get(key(r, Math.floorMod(col0 + dc, columns)));
+                        if (cell != null) {
+                            collect(cell, latitude, longitude, radiusKm, limit, maxFee, doctorFilter, best);
+                        }
+                    }
+                }
+                // everything outside the visited rings is at least ring * minCellKm away
+                if (best.size() == limit && best.peek().getDistanceKm() <= ring * minCellKm) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return result;
+    }
+
+    private static void collect(List<Entry> cell, double latitude, double longitude, double radiusKm, int limit,
+                                BigDecimal maxFee, LongPredicate doctorFilter, PriorityQueue<Hit> best) {
+        for (Entry e : cell) {
+            if (maxFee != null && (e.fee == null || e.fee.compareTo(maxFee) > 0)) {
+                continue;
+            }
+            double d = distanceKm(latitude, longitude, e.latitude, e.longitude);
+            if (d > radiusKm) {
+                continue;
+            }
+            if (best.size() == limit && d >= best.peek().getDistanceKm()) {
+                continue;
+            }
+            if (doctorFilter != null && !doctorFilter.test(e.doctorId)) {
+                continue;
+            }
+            best.offer(new Hit(e.doctorId, d));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void insert(Entry e) {
+        entries.put(e.doctorId, e);
+        cells.computeIfAbsent(key(row(e.latitude), col(e.longitude)), k -> new ArrayList<>()).add(e);
+    }
+
+    private void delete(long doctorId) {
+        Entry old = entries.remove(doctorId);
+        if (old == null) {
+            return;
+        }
+        long k = key(row(old.latitude), col(old.longitude));
+        List<Entry> cell = cells.get(k);
+        if (cell != null) {
+            cell.remove(old);
+            if (cell.isEmpty()) {
+                cells.remove(k);
+            }
+        }
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90.0) / cellDegrees)));
+    }
+
+    private int col(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / cellDegrees), columns);
+    }
+
+    private long key(int row, int col) {
+        return (long) row * columns + col;
+    }
+
+    private static final class Entry {
+        final long doctorId;
+        final double latitude;
+        final double longitude;
+        final BigDecimal fee;
+
+        Entry(long doctorId, double latitude, double longitude, BigDecimal fee) {
+            this.doctorId = doctorId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.fee = fee;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final long doctorId;
+        private final double distanceKm;
+    }
+}
@@ -0,0 +1,77 @@
+package com.healthcare.geo;
+
+import com.healthcare.Entity.Doctor;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps DoctorGeoIndex in step with every Doctor write, whichever service makes it.
+ * The index is looked up lazily because it depends on the repositories that
+ * Hibernate is still building when this listener is created.
+ *
+ * The callbacks fire on flush, not on commit, so changes are held per transaction
+ * (last write per doctor wins) and applied to the index only after commit; a
+ * rolled-back transaction leaves the index untouched.
+ */
+@Component
+public class DoctorGeoListener {
+
+    @Autowired
+    private ObjectProvider<DoctorGeoIndex> geoIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Doctor d) {
+        long id = d.getId();
+        Double latitude = d.getLatitude();
+        Double longitude = d.getLongitude();
+        BigDecimal fee = d.getConsultationFee();
+        publish(id, index -> index.upsert(id, latitude, longitude, fee));
+    }
+
+    @PostRemove
+    public void onRemove(Doctor d) {
+        long id = d.getId();
+        publish(id, index -> index.remove(id));
+    }
+
+    // queues the change on the current transaction, or applies it straight away outside one
+    private void publish(long doctorId, Consumer<DoctorGeoIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.accept(geoIndex.getObject());
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, Consumer<DoctorGeoIndex>> pending =
+                (Map<Long, Consumer<DoctorGeoIndex>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Long, Consumer<DoctorGeoIndex>> created = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    DoctorGeoIndex index = geoIndex.getObject();
+                    created.values().forEach(c -> c.accept(index));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DoctorGeoListener.this);
+                }
+            });
+            pending = created;
+        }
+        pending.put(doctorId, change);
+    }
+}
@@ -0,0 +1,164 @@
+package com.healthcare.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
+
+/**
+ * Runs a request at most once per Idempotency-Key.
+ *
+ * The first request for a key executes. Concurrent duplicates wait on its result,
+ * and later retries get the stored response back, marked with the
+ * Idempotent-Replayed header. Failed executions are forgotten so the client can
+ * retry. Keys live in a bounded Caffeine cache and expire after
+ * idempotency.ttl-minutes. Only finished executions count towards
+ * idempotency.max-entries, so size eviction never drops a key that is still
+ * running and lets a duplicate execute a second time.
+ *
+ * Only a SHA-256 digest of the serialized request body is kept for the
+ * same-body check, so cached entries never hold credentials or other payload.
+ */
+@Component
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Execution> executions;
+    private final long waitTimeoutMs;
+    private final JsonMapper jsonMapper;
+
+    public IdempotencyService(@Value("${idempotency.ttl-minutes:60}") long ttlMinutes,
+                              @Value("${idempotency.max-entries:100000}") long maxEntries,
+                              @Value("${idempotency.wait-timeout-ms:30000}") long waitTimeoutMs,
+                              JsonMapper jsonMapper) {
+        this.executions = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                // in-flight entries weigh nothing and are re-weighed once they complete
+                .weigher((String key, Execution e) -> e.result.isDone() ? 1 : 0)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * @param scope   operation name plus caller identity; keys are only unique within a scope
+     * @param key     value of the Idempotency-Key header, or null to run without protection
+     * @param request the request body; a key reused with a different body is rejected
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        validate(key);
+        return run(scope + ":" + key, digest(request), action);
+    }
+
+    /**
+     * Variant for callers without an identity (e.g. signup). The key is scoped by the
+     * request digest instead, so unrelated clients that happen to pick the same key
+     * never see each other's responses.
+     *
+     * @param operation operation name, e.g. "signup"
+     */
+    public <T> ResponseEntity<T> executeAnonymous(String operation, String key, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        validate(key);
+        byte[] digest = digest(request);
+        return run(operation + ":" + HexFormat.of().formatHex(digest) + ":" + key, digest, action);
+    }
+
+    private static void validate(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid " + HEADER + " header");
+        }
+    }
+
+    private <T> ResponseEntity<T> run(String cacheKey, byte[] digest, Supplier<ResponseEntity<T>> action) {
+        Execution mine = new Execution(digest);
+        Execution existing = executions.asMap().putIfAbsent(cacheKey, mine);
+        if (existing != null) {
+            return replay(existing, digest);
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            mine.result.complete(response);
+            // writing the entry again re-weighs it, so only now does it count towards max-entries
+            executions.asMap().replace(cacheKey, mine, mine);
+            return response;
+        } catch (RuntimeException e) {
+            executions.asMap().remove(cacheKey, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Execution existing, byte[] digest) {
+        if (!MessageDigest.isEqual(existing.digest, digest)) {
+            throw new ResponseStatusException(UNPROCESSABLE_CONTENT, HEADER + " was already used with a different request");
+        }
+        ResponseEntity<T> original;
+        try {
+            original = (ResponseEntity<T>) existing.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // the first attempt failed; duplicates that waited for it see the same outcome
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(CONFLICT, "A request with this " + HEADER + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(CONFLICT, "A request with this " + HEADER + " is still in progress");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private byte[] digest(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(jsonMapper.writeValueAsBytes(request));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Execution {
+        final byte[] digest;
+        final CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+
+        Execution(byte[] digest) {
+            this.digest = digest;
+        }
+    }
+}
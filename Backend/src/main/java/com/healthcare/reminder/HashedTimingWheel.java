@@ -0,0 +1,227 @@
+package com.healthcare.reminder;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel (Varghese &amp; Lauck) for large numbers of coarse timers.
+ *
+ * The wheel is a ring of buckets, each covering one tick. A timer lands in
+ * bucket (deadline / tick) mod size and carries the number of full revolutions
+ * left before it is due. Callers only append to lock-free queues, so
+ * newTimeout() and cancel() are O(1). The single worker thread moves pending
+ * timers into buckets, unlinks cancelled ones, and on every tick expires one
+ * bucket. Due tasks are handed to the supplied executor so slow work never
+ * stalls the wheel.
+ */
+public class HashedTimingWheel {
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private final Thread worker;
+    private volatile boolean running = true;
+    private final long startTime;
+    private long tick;
+
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize, Executor executor) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.executor = executor;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, "timing-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules task to run after delay. Delays that are already due fire on the next tick.
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        Timeout t = new Timeout(task, deadline);
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(t);
+        return t;
+    }
+
+    /**
+     * Timers scheduled and not yet fired or cancelled.
+     */
+    public long pendingTimeouts() {
+        return pendingCount.get();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+            processCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startTime;
+            long sleepMs = (deadline - current + 999_999) / 1_000_000;
+            if (sleepMs <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferPending() {
+        // bounded per tick so a burst of inserts cannot starve expiry
+        for (int i = 0; i < 100_000; i++) {
+            Timeout t = pendingTimeouts.poll();
+            if (t == null) {
+                return;
+            }
+            if (t.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+            long calculated = t.deadline / tickNanos;
+            t.remainingRounds = (calculated - tick) / wheel.length;
+            // already overdue timers go into the current bucket
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(t);
+        }
+    }
+
+    private void processCancelled() {
+        Timeout t;
+        while ((t = cancelledTimeouts.poll()) != null) {
+            if (t.bucket != null) {
+                t.bucket.remove(t);
+            }
+        }
+    }
+
+    public final class Timeout {
+        static final int INIT = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // owned by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return false if the timer already fired or was cancelled before
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrementAndGet();
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            pendingCount.decrementAndGet();
+            executor.execute(task);
+        }
+    }
+
+    // doubly linked list of timeouts; only touched by the worker thread
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout t) {
+            t.bucket = this;
+            if (head == null) {
+                head = tail = t;
+            } else {
+                tail.next = t;
+                t.prev = tail;
+                tail = t;
+            }
+        }
+
+        void expire(long deadline) {
+            Timeout t = head;
+            while (t != null) {
+                Timeout next = t.next;
+                if (t.state.get() == Timeout.CANCELLED) {
+                    remove(t);
+                } else if (t.remainingRounds <= 0 && t.deadline <= deadline) {
+                    remove(t);
+                    t.expire();
+                } else if (t.remainingRounds > 0) {
+                    t.remainingRounds--;
+                }
+                t = next;
+            }
+        }
+
+        void remove(Timeout t) {
+            if (t.bucket != this) {
+                return;
+            }
+            if (t.prev != null) {
+                t.prev.next = t.next;
+            }
+            if (t.next != null) {
+                t.next.prev = t.prev;
+            }
+            if (t == head) {
+                head = t.next;
+            }
+            if (t == tail) {
+                tail = t.prev;
+            }
+            t.prev = null;
+            t.next = null;
+            t.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.healthcare.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default sender until a real channel is wired in; writes reminders to the log.
+ */
+@Component
+public class LoggingReminderSender implements ReminderSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+    @Override
+    public void send(ReminderNotification n) {
+        log.info("Reminder {} for appointment {} at {} (patient {}, doctor {})",
+                n.getType(), n.getAppointmentId(), n.getScheduledAt(), n.getPatientId(), n.getDoctorId());
+    }
+}
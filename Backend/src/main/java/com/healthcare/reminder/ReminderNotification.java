@@ -0,0 +1,18 @@
+package com.healthcare.reminder;
+
+import com.healthcare.Entity.ReminderType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ReminderNotification {
+    private Long appointmentId;
+    private Long patientId;
+    private Long doctorId;
+    private String patientEmail;
+    private LocalDateTime scheduledAt;
+    private ReminderType type;
+}
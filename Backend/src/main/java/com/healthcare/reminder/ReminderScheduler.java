@@ -0,0 +1,291 @@
+package com.healthcare.reminder;
+
+import com.healthcare.Entity.Appointment;
+import com.healthcare.Entity.AppointmentReminder;
+import com.healthcare.Entity.ReminderStatus;
+import com.healthcare.Entity.ReminderType;
+import com.healthcare.Entity.Status;
+import com.healthcare.repository.AppointmentReminderRepository;
+import com.healthcare.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fires the T-24h and T-1h reminders for every active appointment.
+ *
+ * Only appointments inside a rolling horizon (reminder.horizon-hours) are held as
+ * timers. The window is loaded at startup and extended by a periodic refill that
+ * reads just the newly entered slice of the appointments table. Booking, cancel
+ * and reschedule update the timers directly.
+ *
+ * A reminder is sent by whoever first inserts its appointment_reminders row. The
+ * row starts PENDING and becomes SENT once every sender has accepted it. Rows left
+ * PENDING by a crash or a failing channel are retried by the startup load and each
+ * refill, once their last attempt is older than reminder.retry-after-ms, until the
+ * appointment starts. Delivery is therefore at least once per channel, and
+ * reminders that came due while the service was down are caught up on load.
+ */
+@Component
+public class ReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private static final List<Status> ACTIVE = List.of(Status.BOOKED, Status.CONFIRMED);
+    private static final ReminderType[] TYPES = ReminderType.values();
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentReminderRepository reminderRepository;
+
+    @Autowired
+    private List<ReminderSender> senders;
+
+    @Value("${reminder.horizon-hours:48}")
+    private long horizonHours;
+
+    @Value("${reminder.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${reminder.wheel-size:4096}")
+    private int wheelSize;
+
+    @Value("${reminder.sender-threads:2}")
+    private int senderThreads;
+
+    @Value("${reminder.retry-after-ms:300000}")
+    private long retryAfterMs;
+
+    private HashedTimingWheel wheel;
+    private ExecutorService senderPool;
+
+    private final Map<Long, Timers> timers = new ConcurrentHashMap<>();
+    private LocalDateTime loadedUntil;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger n = new AtomicInteger();
+        senderPool = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "reminder-sender-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        wheel = new HashedTimingWheel(tickMs, TimeUnit.MILLISECONDS, wheelSize, senderPool);
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+        senderPool.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        LocalDateTime now = LocalDateTime.now();
+        loadWindow(now, now.plusHours(horizonHours));
+        retryPending(now);
+    }
+
+    /**
+     * Pulls in appointments that have entered the horizon since the last load and
+     * retries reminders that are still undelivered.
+     */
+    @Scheduled(fixedDelayString = "${reminder.refill-interval-ms:600000}", initialDelayString = "${reminder.refill-interval-ms:600000}")
+    public synchronized void refill() {
+        if (loadedUntil == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime to = now.plusHours(horizonHours);
+        if (to.isAfter(loadedUntil)) {
+            loadWindow(loadedUntil, to);
+        }
+        retryPending(now);
+    }
+
+    /**
+     * (Re)arms reminders for an appointment. Call after the booking or reschedule has committed.
+     */
+    public void schedule(Long appointmentId, LocalDateTime scheduledAt) {
+        LocalDateTime now = LocalDateTime.now();
+        // beyond the horizon the refill job will pick it up
+        if (scheduledAt == null || !scheduledAt.isAfter(now) || scheduledAt.isAfter(now.plusHours(horizonHours))) {
+            cancel(appointmentId);
+            return;
+        }
+        arm(appointmentId, scheduledAt, now, Set.of());
+    }
+
+    public void cancel(Long appointmentId) {
+        Timers old = timers.remove(appointmentId);
+        if (old != null) {
+            old.cancelAll();
+        }
+    }
+
+    public long pendingReminders() {
+        return wheel.pendingTimeouts();
+    }
+
+    private void loadWindow(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> fired = new HashSet<>();
+        for (Object[] r : reminderRepository.findFiredBetween(from, to)) {
+            fired.add(key((Long) r[0], (ReminderType) r[1], (LocalDateTime) r[2]));
+        }
+        List<Object[]> rows = appointmentRepository.findScheduleBetween(ACTIVE, from, to);
+        for (Object[] r : rows) {
+            arm((Long) r[0], (LocalDateTime) r[1], now, fired);
+        }
+        loadedUntil = to;
+        log.info("Reminder window loaded up to {}: {} appointments, {} timers pending", to, rows.size(), wheel.pendingTimeouts());
+    }
+
+    private void retryPending(LocalDateTime now) {
+        List<Object[]> rows = reminderRepository.findPendingAttemptedBefore(now.minus(Duration.ofMillis(retryAfterMs)));
+        for (Object[] r : rows) {
+            senderPool.execute(() -> retry((Long) r[0], (Integer) r[1], (Long) r[2], (ReminderType) r[3], (LocalDateTime) r[4]));
+        }
+        if (!rows.isEmpty()) {
+            log.info("Retrying {} undelivered reminders", rows.size());
+        }
+    }
+
+    private void arm(Long appointmentId, LocalDateTime scheduledAt, LocalDateTime now, Set<String> fired) {
+        Timers holder = new Timers();
+        for (int i = 0; i < TYPES.length; i++) {
+            ReminderType type = TYPES[i];
+            LocalDateTime fireAt = scheduledAt.minus(type.getLead());
+            if (fired.contains(key(appointmentId, type, scheduledAt))) {
+                continue;
+            }
+            // a late reminder is dropped when a closer one is (nearly) due anyway
+            if (!fireAt.isAfter(now) && superseded(i, scheduledAt, now)) {
+                continue;
+            }
+            long delayMs = Math.max(0, Duration.between(now, fireAt).toMillis());
+            holder.remaining.incrementAndGet();
+            holder.byType[i] = wheel.newTimeout(() -> fire(appointmentId, type, scheduledAt, holder), delayMs, TimeUnit.MILLISECONDS);
+        }
+        Timers old = holder.remaining.get() > 0 ? timers.put(appointmentId, holder) : timers.remove(appointmentId);
+        if (old != null) {
+            old.cancelAll();
+        }
+    }
+
+    // true if a closer reminder fires within half the gap between the two leads
+    private static boolean superseded(int typeIndex, LocalDateTime scheduledAt, LocalDateTime now) {
+        Duration lead = TYPES[typeIndex].getLead();
+        for (ReminderType closer : TYPES) {
+            if (closer.getLead().compareTo(lead) < 0) {
+                Duration grace = lead.minus(closer.getLead()).dividedBy(2);
+                if (!scheduledAt.minus(closer.getLead()).isAfter(now.plus(grace))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // runs on the sender pool
+    private void fire(Long appointmentId, ReminderType type, LocalDateTime scheduledAt, Timers holder) {
+        try {
+            if (holder.remaining.decrementAndGet() == 0) {
+                timers.remove(appointmentId, holder);
+            }
+            Appointment a = appointmentRepository.findById(appointmentId).orElse(null);
+            if (!stillBooked(a, scheduledAt)) {
+                return;
+            }
+            AppointmentReminder claimed;
+            try {
+                claimed = reminderRepository.saveAndFlush(
+                        new AppointmentReminder(a, type, scheduledAt, LocalDateTime.now(), ReminderStatus.PENDING, 1));
+            } catch (DataIntegrityViolationException e) {
+                return; // already fired, by an earlier run or another instance
+            }
+            deliver(claimed.getId(), a, type, scheduledAt);
+        } catch (RuntimeException e) {
+            log.error("Failed to fire {} reminder for appointment {}", type, appointmentId, e);
+        }
+    }
+
+    // runs on the sender pool
+    private void retry(Long reminderId, int attempts, Long appointmentId, ReminderType type, LocalDateTime scheduledAt) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (reminderRepository.claimRetry(reminderId, attempts, now) == 0) {
+                return; // picked up by another instance in the meantime
+            }
+            Appointment a = appointmentRepository.findById(appointmentId).orElse(null);
+            if (!stillBooked(a, scheduledAt) || !scheduledAt.isAfter(now)) {
+                reminderRepository.markStatus(reminderId, ReminderStatus.SKIPPED, now);
+                return;
+            }
+            deliver(reminderId, a, type, scheduledAt);
+        } catch (RuntimeException e) {
+            log.error("Failed to retry {} reminder for appointment {}", type, appointmentId, e);
+        }
+    }
+
+    // leaves the row PENDING if any sender fails, so the next refill tries again
+    private void deliver(Long reminderId, Appointment a, ReminderType type, LocalDateTime scheduledAt) {
+        ReminderNotification n = new ReminderNotification(a.getId(), a.getPatient().getId(), a.getDoctor().getId(),
+                a.getPatient().getUser().getEmail(), scheduledAt, type);
+        boolean delivered = true;
+        for (ReminderSender sender : senders) {
+            try {
+                sender.send(n);
+            } catch (RuntimeException e) {
+                delivered = false;
+                log.warn("Reminder sender {} failed for appointment {}", sender.getClass().getSimpleName(), a.getId(), e);
+            }
+        }
+        if (delivered) {
+            reminderRepository.markStatus(reminderId, ReminderStatus.SENT, LocalDateTime.now());
+        }
+    }
+
+    private static boolean stillBooked(Appointment a, LocalDateTime scheduledAt) {
+        return a != null && ACTIVE.contains(a.getStatus()) && scheduledAt.equals(a.getScheduledAt());
+    }
+
+    private static String key(Long appointmentId, ReminderType type, LocalDateTime scheduledAt) {
+        return appointmentId + "|" + type + "|" + scheduledAt;
+    }
+
+    private static final class Timers {
+        final HashedTimingWheel.Timeout[] byType = new HashedTimingWheel.Timeout[TYPES.length];
+        final AtomicInteger remaining = new AtomicInteger();
+
+        void cancelAll() {
+            for (HashedTimingWheel.Timeout t : byType) {
+                if (t != null) {
+                    t.cancel();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.healthcare.reminder;
+
+/**
+ * Delivery channel for appointment reminders (email, SMS, push...). Every bean
+ * implementing this is called for each reminder; a failing sender does not stop
+ * the others.
+ */
+public interface ReminderSender {
+    void send(ReminderNotification notification);
+}
@@ -0,0 +1,39 @@
+package com.healthcare.repository;
+
+import com.healthcare.Entity.AppointmentReminder;
+import com.healthcare.Entity.ReminderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AppointmentReminderRepository extends JpaRepository<AppointmentReminder, Long> {
+
+    // rows of [appointmentId, reminderType, scheduledFor] for reminders already fired in the window
+    @Query("select r.appointment.id, r.reminderType, r.scheduledFor from AppointmentReminder r " +
+            "where r.scheduledFor > :from and r.scheduledFor <= :to")
+    List<Object[]> findFiredBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // rows of [id, attempts, appointmentId, reminderType, scheduledFor] still undelivered since before the cutoff
+    @Query("select r.id, r.attempts, r.appointment.id, r.reminderType, r.scheduledFor from AppointmentReminder r " +
+            "where r.status = com.healthcare.Entity.ReminderStatus.PENDING and r.firedAt <= :cutoff")
+    List<Object[]> findPendingAttemptedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // takes over a pending reminder for another attempt; returns 0 if someone else already did
+    @Transactional
+    @Modifying
+    @Query("update AppointmentReminder r set r.attempts = r.attempts + 1, r.firedAt = :now, r.lastUpdated = :now " +
+            "where r.id = :id and r.status = com.healthcare.Entity.ReminderStatus.PENDING and r.attempts = :attempts")
+    int claimRetry(@Param("id") Long id, @Param("attempts") int attempts, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update AppointmentReminder r set r.status = :status, r.lastUpdated = :now where r.id = :id")
+    int markStatus(@Param("id") Long id, @Param("status") ReminderStatus status, @Param("now") LocalDateTime now);
+}
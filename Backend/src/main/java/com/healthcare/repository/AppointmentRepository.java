@@ -1,9 +1,29 @@
 package com.healthcare.repository;
 
 import com.healthcare.Entity.Appointment;
+import com.healthcare.Entity.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+
+    // rows of [appointmentId, scheduledAt]; used to load reminder timers one window at a time
+    @Query("select a.id, a.scheduledAt from Appointment a " +
+            "where a.status in :statuses and a.scheduledAt > :from and a.scheduledAt <= :to")
+    List<Object[]> findScheduleBetween(@Param("statuses") Collection<Status> statuses,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    // rows of [doctorId, scheduled date, status, count]; source of truth for the nightly stats reconciliation
+    @Query("select a.doctor.id, cast(a.scheduledAt as LocalDate), a.status, count(a) from Appointment a " +
+            "where a.scheduledAt >= :from and a.scheduledAt < :to " +
+            "group by a.doctor.id, cast(a.scheduledAt as LocalDate), a.status")
+    List<Object[]> countByDoctorDayAndStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
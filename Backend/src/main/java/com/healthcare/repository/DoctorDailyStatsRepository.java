@@ -0,0 +1,38 @@
+package com.healthcare.repository;
+
+import com.healthcare.Entity.DoctorDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DoctorDailyStatsRepository extends JpaRepository<DoctorDailyStats, Long> {
+
+    List<DoctorDailyStats> findByDoctorIdAndDayBetweenOrderByDay(Long doctorId, LocalDate from, LocalDate to);
+
+    List<DoctorDailyStats> findByDayBetween(LocalDate from, LocalDate to);
+
+    // rows of [day, revenue, payments, booked, confirmed, cancelled, completed] summed over all doctors
+    @Query("select s.day, sum(s.revenue), sum(s.paymentCount), sum(s.bookedCount), sum(s.confirmedCount), sum(s.cancelledCount), sum(s.completedCount) " +
+            "from DoctorDailyStats s where s.day between :from and :to group by s.day order by s.day")
+    List<Object[]> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // atomic in-place increment; returns 0 when the bucket row does not exist yet
+    @Modifying
+    @Query("update DoctorDailyStats s set s.revenue = s.revenue + :revenue, s.paymentCount = s.paymentCount + :payments, " +
+            "s.bookedCount = s.bookedCount + :booked, s.confirmedCount = s.confirmedCount + :confirmed, " +
+            "s.cancelledCount = s.cancelledCount + :cancelled, s.completedCount = s.completedCount + :completed, " +
+            "s.lastUpdated = :now where s.doctorId = :doctorId and s.day = :day")
+    int addToBucket(@Param("doctorId") Long doctorId, @Param("day") LocalDate day,
+                    @Param("revenue") BigDecimal revenue, @Param("payments") long payments,
+                    @Param("booked") long booked, @Param("confirmed") long confirmed,
+                    @Param("cancelled") long cancelled, @Param("completed") long completed,
+                    @Param("now") LocalDateTime now);
+}
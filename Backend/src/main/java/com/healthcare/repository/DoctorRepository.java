@@ -2,8 +2,26 @@ package com.healthcare.repository;
 
 import com.healthcare.Entity.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+
+    // rows of [doctorId, latitude, longitude, consultationFee] for doctors that have coordinates
+    @Query("select d.id, d.latitude, d.longitude, d.consultationFee from Doctor d where d.latitude is not null and d.longitude is not null")
+    List<Object[]> findAllCoordinates();
+
+    // served by idx_doctor_rating; rating is maintained on review submission, never computed here
+    List<Doctor> findByRatingGreaterThanEqualOrderByRatingDesc(float minRating);
+
+    @Transactional
+    @Modifying
+    @Query("update Doctor d set d.rating = :rating where d.ratingCount = 0 and d.rating <> :rating")
+    int setRatingWhereUnreviewed(@Param("rating") float rating);
 }
@@ -0,0 +1,22 @@
+package com.healthcare.repository;
+
+import com.healthcare.Entity.DoctorSpecialization;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DoctorSpecializationRepository extends JpaRepository<DoctorSpecialization, Long> {
+
+    Optional<DoctorSpecialization> findByDoctorIdAndSpecializationId(Long doctorId, Long specializationId);
+
+    // rows of [specializationId, doctorId, experienceYears]; avoids hydrating Doctor/Specialization graphs
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select ds.specialization.id, ds.doctor.id, ds.experienceYears from DoctorSpecialization ds")
+    List<Object[]> findAllLinks();
+}
@@ -0,0 +1,23 @@
+package com.healthcare.repository;
+
+import com.healthcare.Entity.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    // rows of [doctorId, payment date, amount, count] for paid payments; used by the nightly stats reconciliation
+    @Query("select p.appointment.doctor.id, p.createdOn, sum(p.amount), count(p) from Payment p " +
+            "where p.createdOn between :from and :to and upper(p.status) in :paidStatuses " +
+            "group by p.appointment.doctor.id, p.createdOn")
+    List<Object[]> sumPaidByDoctorAndDay(@Param("paidStatuses") Collection<String> paidStatuses,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+}
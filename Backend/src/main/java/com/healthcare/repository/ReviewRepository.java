@@ -0,0 +1,14 @@
+package com.healthcare.repository;
+
+import com.healthcare.Entity.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+    boolean existsByAppointmentId(Long appointmentId);
+    List<Review> findByDoctorIdOrderByIdDesc(Long doctorId, Pageable pageable);
+}
@@ -0,0 +1,18 @@
+package com.healthcare.repository;
+
+import com.healthcare.Entity.Specialization;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SpecializationRepository extends JpaRepository<Specialization, Long> {
+    boolean existsByName(String name);
+
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Specialization> findAll();
+}
@@ -0,0 +1,39 @@
+package com.healthcare.repository;
+
+import com.healthcare.Entity.Appointment;
+import com.healthcare.Entity.WaitlistEntry;
+import com.healthcare.Entity.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    List<WaitlistEntry> findByStatusAndWindowEndAfter(WaitlistStatus status, LocalDateTime after);
+    List<WaitlistEntry> findByPatientIdOrderByIdDesc(Long patientId);
+
+    // closes out entries whose window ended while they were still waiting
+    @Transactional
+    @Modifying
+    @Query("update WaitlistEntry w set w.status = com.healthcare.Entity.WaitlistStatus.EXPIRED, w.lastUpdated = :now " +
+            "where w.status = com.healthcare.Entity.WaitlistStatus.WAITING and w.windowEnd <= :now")
+    int expireEndedBefore(@Param("now") LocalDateTime now);
+
+    // only moves an entry that is still waiting, so a back-fill and a withdrawal cannot both win it
+    @Transactional
+    @Modifying
+    @Query("update WaitlistEntry w set w.status = :status, w.lastUpdated = :now " +
+            "where w.id = :id and w.status = com.healthcare.Entity.WaitlistStatus.WAITING")
+    int closeIfWaiting(@Param("id") Long id, @Param("status") WaitlistStatus status, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update WaitlistEntry w set w.appointment = :appointment, w.lastUpdated = :now where w.id = :id")
+    int linkAppointment(@Param("id") Long id, @Param("appointment") Appointment appointment, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,141 @@
+package com.healthcare.rollup;
+
+import com.healthcare.Entity.Appointment;
+import com.healthcare.Entity.Doctor;
+import com.healthcare.Entity.Payment;
+import com.healthcare.Entity.Status;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns every Appointment and Payment write into deltas on the doctor_daily_stats
+ * buckets, whichever service makes it.
+ *
+ * Registered as a Hibernate event listener rather than a JPA callback because an
+ * update needs the row's previous state: moving an appointment from BOOKED to
+ * CANCELLED is -1 on one counter and +1 on another, and a reschedule moves it to
+ * a different day. Deltas are collected per transaction and handed to
+ * DoctorStatsRollup only after commit, so rolled-back work never reaches the rollup.
+ */
+@Component
+public class DoctorStatsListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectProvider<DoctorStatsRollup> rollup;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getEventListenerRegistry();
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Map<String, StatsDelta> deltas = new HashMap<>();
+        collect(deltas, event.getEntity(), event.getPersister(), event.getState(), 1);
+        publish(deltas);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getOldState() == null) {
+            return; // not loaded in this session; the nightly reconciliation picks the change up
+        }
+        Map<String, StatsDelta> deltas = new HashMap<>();
+        collect(deltas, event.getEntity(), event.getPersister(), event.getOldState(), -1);
+        collect(deltas, event.getEntity(), event.getPersister(), event.getState(), 1);
+        publish(deltas);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Map<String, StatsDelta> deltas = new HashMap<>();
+        collect(deltas, event.getEntity(), event.getPersister(), event.getDeletedState(), -1);
+        publish(deltas);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void collect(Map<String, StatsDelta> deltas, Object entity, EntityPersister persister, Object[] state, int sign) {
+        if (entity instanceof Appointment) {
+            Doctor doctor = (Doctor) state[persister.getPropertyIndex("doctor")];
+            LocalDateTime at = (LocalDateTime) state[persister.getPropertyIndex("scheduledAt")];
+            Status status = (Status) state[persister.getPropertyIndex("status")];
+            if (doctor != null && at != null && status != null) {
+                delta(deltas, doctor.getId(), at.toLocalDate()).addAppointments(status, sign);
+            }
+        } else if (entity instanceof Payment p) {
+            BigDecimal amount = (BigDecimal) state[persister.getPropertyIndex("amount")];
+            String status = (String) state[persister.getPropertyIndex("status")];
+            LocalDate day = (LocalDate) state[persister.getPropertyIndex("createdOn")];
+            if (p.getAppointment() != null && amount != null && day != null && rollup.getObject().isPaid(status)) {
+                delta(deltas, p.getAppointment().getDoctor().getId(), day).addPayments(sign < 0 ? amount.negate() : amount, sign);
+            }
+        }
+    }
+
+    private static StatsDelta delta(Map<String, StatsDelta> deltas, Long doctorId, LocalDate day) {
+        return deltas.computeIfAbsent(StatsDelta.key(doctorId, day), k -> new StatsDelta(doctorId, day));
+    }
+
+    // merges into the transaction's pending deltas, or submits straight away outside a transaction
+    private void publish(Map<String, StatsDelta> deltas) {
+        deltas.values().removeIf(StatsDelta::isEmpty);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rollup.getObject().submit(deltas.values());
+            return;
+        }
+
+        DoctorStatsRollup.Batch pending = (DoctorStatsRollup.Batch) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            DoctorStatsRollup.Batch created = rollup.getObject().open();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rollup.getObject().submit(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DoctorStatsListener.this);
+                    rollup.getObject().close(created);
+                }
+            });
+            pending = created;
+        }
+        deltas.values().forEach(pending::add);
+    }
+}
@@ -0,0 +1,332 @@
+package com.healthcare.rollup;
+
+import com.healthcare.Entity.DoctorDailyStats;
+import com.healthcare.Entity.Status;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorDailyStatsRepository;
+import com.healthcare.repository.PaymentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Writes doctor_daily_stats.
+ *
+ * submit() queues committed deltas for a single writer thread, which merges
+ * whatever has piled up and adds it to each bucket with one in-place UPDATE,
+ * inserting the row the first time a doctor has activity on a day. Writing on
+ * the caller's thread would need a second pooled connection while the
+ * committing transaction still holds its first, which deadlocks the pool under
+ * load.
+ * reconcile() runs nightly. It recomputes every bucket from
+ * rollup.reconcile-days back to rollup.reconcile-ahead-days ahead, using the
+ * payments and appointments tables, and overwrites any bucket that has drifted,
+ * e.g. after a crash between commit and apply or a bulk update that bypassed
+ * the listener. It runs on the writer thread after draining the queue, so no
+ * increment can land between reading the source tables and overwriting a
+ * bucket.
+ * A transaction that was already writing when a recompute read its buckets may
+ * or may not be part of what was read, depending on when it committed. Every
+ * transaction therefore opens a Batch stamped with the current read sequence,
+ * and each recompute bumps the sequence and stamps the buckets it read. Deltas
+ * from a batch opened before the stamp are not added. Their buckets are read
+ * again from the source tables once the batch has been handed over, by which
+ * time the transaction is known to be committed.
+ */
+@Component
+public class DoctorStatsRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorStatsRollup.class);
+
+    @Autowired
+    private DoctorDailyStatsRepository statsRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private final TransactionTemplate tx;
+    private final Set<String> paidStatuses;
+    private final int reconcileDays;
+    private final int reconcileAheadDays;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "stats-rollup");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Object pendingLock = new Object();
+    private Map<String, StatsDelta> pending = new HashMap<>();
+    // per bucket, the oldest read sequence among the batches merged into pending
+    private Map<String, Long> pendingSince = new HashMap<>();
+    private boolean drainScheduled;
+
+    // bumped after every source read; batches opened before a bump may or may not be in that read
+    private final AtomicLong readSequence = new AtomicLong();
+    // bucket key -> read sequence of the last recompute that read it; writer thread only
+    private final Map<String, Long> readAt = new HashMap<>();
+    private final Set<Batch> open = ConcurrentHashMap.newKeySet();
+
+    public DoctorStatsRollup(PlatformTransactionManager transactionManager,
+                             @Value("${rollup.paid-statuses:SUCCESS,PAID,COMPLETED}") List<String> paidStatuses,
+                             @Value("${rollup.reconcile-days:90}") int reconcileDays,
+                             @Value("${rollup.reconcile-ahead-days:180}") int reconcileAheadDays) {
+        this.tx = new TransactionTemplate(transactionManager);
+        this.paidStatuses = paidStatuses.stream().map(s -> s.trim().toUpperCase(Locale.ROOT)).collect(Collectors.toSet());
+        this.reconcileDays = reconcileDays;
+        this.reconcileAheadDays = reconcileAheadDays;
+    }
+
+    public boolean isPaid(String paymentStatus) {
+        return paymentStatus != null && paidStatuses.contains(paymentStatus.toUpperCase(Locale.ROOT));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Blocks until every delta submitted so far has been written.
+     */
+    public void awaitPending() throws InterruptedException, ExecutionException {
+        writer.submit(() -> { }).get();
+    }
+
+    /**
+     * Opens a batch for a transaction that is about to change stats. Call
+     * {@link #submit(Batch)} after commit and {@link #close(Batch)} once the
+     * transaction has completed either way.
+     */
+    public Batch open() {
+        Batch b = new Batch(readSequence.get());
+        open.add(b);
+        return b;
+    }
+
+    public void close(Batch batch) {
+        open.remove(batch);
+    }
+
+    /**
+     * Queues deltas from a committed transaction; returns immediately.
+     */
+    public void submit(Batch batch) {
+        enqueue(batch.deltas.values(), batch.since);
+    }
+
+    /**
+     * Queues deltas that were written outside a transaction and are already committed.
+     */
+    public void submit(Collection<StatsDelta> deltas) {
+        // committed before the hand-over, so treat them as older than any read
+        enqueue(deltas, Long.MIN_VALUE);
+    }
+
+    private void enqueue(Collection<StatsDelta> deltas, long since) {
+        synchronized (pendingLock) {
+            for (StatsDelta d : deltas) {
+                String key = StatsDelta.key(d.getDoctorId(), d.getDay());
+                pending.merge(key, d, StatsDelta::merge);
+                pendingSince.merge(key, since, Math::min);
+            }
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        writer.execute(this::drain);
+    }
+
+    // runs on the writer thread
+    private void drain() {
+        Map<String, StatsDelta> batch;
+        Map<String, Long> since;
+        synchronized (pendingLock) {
+            batch = pending;
+            since = pendingSince;
+            pending = new HashMap<>();
+            pendingSince = new HashMap<>();
+            drainScheduled = false;
+        }
+        Set<String> reread = new HashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Map.Entry<String, StatsDelta> e : batch.entrySet()) {
+            StatsDelta d = e.getValue();
+            if (d.isEmpty()) {
+                continue;
+            }
+            Long read = readAt.get(e.getKey());
+            if (read != null && since.get(e.getKey()) < read) {
+                // the transaction was open during that read, so the bucket may already include it
+                reread.add(e.getKey());
+                from = from == null || d.getDay().isBefore(from) ? d.getDay() : from;
+                to = to == null || d.getDay().isAfter(to) ? d.getDay() : to;
+                continue;
+            }
+            try {
+                applyOne(d);
+            } catch (RuntimeException ex) {
+                log.warn("Could not apply stats delta for doctor {} on {}; reconciliation will repair it", d.getDoctorId(), d.getDay(), ex);
+            }
+        }
+        if (!reread.isEmpty()) {
+            LocalDate rereadFrom = from;
+            LocalDate rereadTo = to;
+            try {
+                tx.execute(status -> recompute(rereadFrom, rereadTo, reread::contains));
+            } catch (RuntimeException ex) {
+                log.warn("Could not re-read {} stats buckets; reconciliation will repair them", reread.size(), ex);
+            }
+        }
+        forgetOldReads();
+    }
+
+    // a read stamp only matters while a batch opened before it can still be handed over
+    private void forgetOldReads() {
+        long oldest = Long.MAX_VALUE;
+        for (Batch b : open) {
+            oldest = Math.min(oldest, b.since);
+        }
+        synchronized (pendingLock) {
+            for (long since : pendingSince.values()) {
+                oldest = Math.min(oldest, since);
+            }
+        }
+        long cutoff = oldest;
+        readAt.values().removeIf(read -> read <= cutoff);
+    }
+
+    private void applyOne(StatsDelta d) {
+        if (Boolean.TRUE.equals(tx.execute(status -> increment(d) > 0))) {
+            return;
+        }
+        try {
+            tx.executeWithoutResult(status -> statsRepository.saveAndFlush(d.toRow()));
+        } catch (DataIntegrityViolationException e) {
+            // the bucket was created concurrently, e.g. by another instance
+            tx.execute(status -> increment(d));
+        }
+    }
+
+    private int increment(StatsDelta d) {
+        return statsRepository.addToBucket(d.getDoctorId(), d.getDay(), d.getRevenue(), d.getPayments(),
+                d.getBooked(), d.getConfirmed(), d.getCancelled(), d.getCompleted(), LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${rollup.reconcile-cron:0 30 2 * * *}")
+    public void reconcile() throws InterruptedException, ExecutionException {
+        // status counts sit on the scheduled date, so upcoming days drift as much as past ones
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(reconcileDays);
+        LocalDate to = today.plusDays(reconcileAheadDays);
+        int repaired = reconcile(from, to);
+        log.info("Doctor stats reconciled for {} to {}: {} buckets repaired", from, to, repaired);
+    }
+
+    /**
+     * Recomputes every bucket in [from, to] from the source tables. Runs on the
+     * writer thread and blocks until it is done.
+     *
+     * @return number of buckets that had to be changed
+     */
+    public int reconcile(LocalDate from, LocalDate to) throws InterruptedException, ExecutionException {
+        return writer.submit(() -> {
+            // apply everything already queued first; the source tables include those changes
+            drain();
+            return tx.execute(status -> recompute(from, to, key -> true));
+        }).get();
+    }
+
+    // runs on the writer thread, inside one transaction; only buckets whose key passes include are touched
+    private int recompute(LocalDate from, LocalDate to, Predicate<String> include) {
+        Map<String, StatsDelta> expected = new HashMap<>();
+        for (Object[] r : appointmentRepository.countByDoctorDayAndStatus(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            expected(expected, (Long) r[0], (LocalDate) r[1]).addAppointments((Status) r[2], ((Number) r[3]).longValue());
+        }
+        for (Object[] r : paymentRepository.sumPaidByDoctorAndDay(paidStatuses, from, to)) {
+            expected(expected, (Long) r[0], (LocalDate) r[1]).addPayments((BigDecimal) r[2], ((Number) r[3]).longValue());
+        }
+        expected.keySet().removeIf(include.negate());
+        List<DoctorDailyStats> stored = statsRepository.findByDayBetween(from, to).stream()
+                .filter(s -> include.test(StatsDelta.key(s.getDoctorId(), s.getDay())))
+                .collect(Collectors.toList());
+
+        // batches opened from here on commit after the read, so their deltas apply on top of it
+        long read = readSequence.incrementAndGet();
+        for (String key : expected.keySet()) {
+            readAt.put(key, read);
+        }
+        for (DoctorDailyStats s : stored) {
+            readAt.put(StatsDelta.key(s.getDoctorId(), s.getDay()), read);
+        }
+
+        int repaired = 0;
+        for (DoctorDailyStats s : stored) {
+            StatsDelta d = expected.remove(StatsDelta.key(s.getDoctorId(), s.getDay()));
+            if (d == null) {
+                statsRepository.delete(s);
+                repaired++;
+            } else if (!d.matches(s)) {
+                d.copyTo(s);
+                s.setLastUpdated(LocalDateTime.now());
+                repaired++;
+            }
+        }
+        for (StatsDelta d : expected.values()) {
+            statsRepository.save(d.toRow());
+            repaired++;
+        }
+        return repaired;
+    }
+
+    private static StatsDelta expected(Map<String, StatsDelta> expected, Long doctorId, LocalDate day) {
+        return expected.computeIfAbsent(StatsDelta.key(doctorId, day), k -> new StatsDelta(doctorId, day));
+    }
+
+    /**
+     * Deltas collected by one transaction, stamped with the read sequence at the time it opened.
+     */
+    public static final class Batch {
+        private final long since;
+        private final Map<String, StatsDelta> deltas = new HashMap<>();
+
+        private Batch(long since) {
+            this.since = since;
+        }
+
+        public void add(StatsDelta d) {
+            deltas.merge(StatsDelta.key(d.getDoctorId(), d.getDay()), d, StatsDelta::merge);
+        }
+    }
+}
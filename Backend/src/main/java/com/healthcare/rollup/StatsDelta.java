@@ -0,0 +1,86 @@
+package com.healthcare.rollup;
+
+import com.healthcare.Entity.DoctorDailyStats;
+import com.healthcare.Entity.Status;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pending change to one doctor/day bucket. Deltas from a transaction are merged
+ * per bucket so each bucket is written once however many rows changed.
+ */
+@Getter
+public class StatsDelta {
+
+    private final Long doctorId;
+    private final LocalDate day;
+
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private long payments;
+    private long booked;
+    private long confirmed;
+    private long cancelled;
+    private long completed;
+
+    public StatsDelta(Long doctorId, LocalDate day) {
+        this.doctorId = doctorId;
+        this.day = day;
+    }
+
+    public static String key(Long doctorId, LocalDate day) {
+        return doctorId + "|" + day;
+    }
+
+    // count is negative when payments are taken out again, with amount negated to match
+    public void addPayments(BigDecimal amount, long count) {
+        revenue = revenue.add(amount);
+        payments += count;
+    }
+
+    public void addAppointments(Status status, long count) {
+        switch (status) {
+            case BOOKED -> booked += count;
+            case CONFIRMED -> confirmed += count;
+            case CANCELLED -> cancelled += count;
+            case COMPLETED -> completed += count;
+        }
+    }
+
+    public StatsDelta merge(StatsDelta other) {
+        revenue = revenue.add(other.revenue);
+        payments += other.payments;
+        booked += other.booked;
+        confirmed += other.confirmed;
+        cancelled += other.cancelled;
+        completed += other.completed;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return revenue.signum() == 0 && payments == 0 && booked == 0 && confirmed == 0 && cancelled == 0 && completed == 0;
+    }
+
+    // absolute values for a bucket that does not exist yet
+    DoctorDailyStats toRow() {
+        DoctorDailyStats s = new DoctorDailyStats(doctorId, day);
+        copyTo(s);
+        return s;
+    }
+
+    boolean matches(DoctorDailyStats s) {
+        return s.getRevenue().compareTo(revenue) == 0 && s.getPaymentCount() == payments
+                && s.getBookedCount() == booked && s.getConfirmedCount() == confirmed
+                && s.getCancelledCount() == cancelled && s.getCompletedCount() == completed;
+    }
+
+    void copyTo(DoctorDailyStats s) {
+        s.setRevenue(revenue);
+        s.setPaymentCount(payments);
+        s.setBookedCount(booked);
+        s.setConfirmedCount(confirmed);
+        s.setCancelledCount(cancelled);
+        s.setCompletedCount(completed);
+    }
+}
@@ -0,0 +1,16 @@
+package com.healthcare.security;
+
+import com.healthcare.Entity.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Identity carried inside a verified access token. Built from the token alone,
+ * so reading it never touches the database.
+ */
+@Data
+@AllArgsConstructor
+public class AuthPrincipal {
+    private Long userId;
+    private UserRole role;
+}
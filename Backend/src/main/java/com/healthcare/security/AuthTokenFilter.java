@@ -0,0 +1,67 @@
+package com.healthcare.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Resolves the caller from the bearer token on every request. Verification is a
+ * signature check only; the user table is never consulted here.
+ *
+ * Paths listed in PROTECTED_PATHS reject requests without a valid access token.
+ * Everything else stays public but still gets the principal attached when a valid
+ * token is sent along.
+ */
+@Component
+public class AuthTokenFilter extends OncePerRequestFilter {
+
+    public static final String PRINCIPAL_ATTRIBUTE = "authPrincipal";
+
+    private static final String BEARER = "Bearer ";
+
+    private static final String[] PROTECTED_PATHS = {
+            "/api/appointments",
+            "/api/auth/me",
+            "/api/waitlist",
+            "/api/reviews",
+            "/api/stats"
+    };
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AuthPrincipal principal = null;
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            principal = tokenService.verifyAccess(header.substring(BEARER.length()).trim());
+        }
+
+        if (principal != null) {
+            request.setAttribute(PRINCIPAL_ATTRIBUTE, principal);
+        } else if (isProtected(request.getRequestURI())) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Missing or invalid access token");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private boolean isProtected(String uri) {
+        for (String path : PROTECTED_PATHS) {
+            if (uri.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,187 @@
+package com.healthcare.security;
+
+import com.healthcare.Entity.UserRole;
+import com.healthcare.dto.TokenResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+/**
+ * Issues and verifies HMAC-SHA256 signed tokens.
+ *
+ * Token layout: base64url(type|userId|role|expiresAtEpochSec|jti) "." base64url(signature).
+ * Access tokens are verified purely from the signature and expiry. Refresh tokens are
+ * single use: every refresh puts the old jti on an in-memory denylist until it would
+ * have expired anyway.
+ */
+@Component
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String ACCESS = "A";
+    private static final String REFRESH = "R";
+    // HMAC-SHA256 keys shorter than the digest size weaken the signature
+    static final int MIN_SECRET_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec signingKey;
+    // Mac is not thread safe; keep one initialised instance per thread instead of re-keying per request
+    private final ThreadLocal<Mac> macs;
+
+    private final long accessTtlSeconds;
+    private final long refreshTtlSeconds;
+
+    // revoked refresh jti -> epoch second after which the entry can be dropped
+    private final Map<String, Long> denylist = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    public TokenService(@Value("${auth.token.secret:}") String secret,
+                        @Value("${auth.token.access-ttl-seconds:900}") long accessTtlSeconds,
+                        @Value("${auth.token.refresh-ttl-seconds:1209600}") long refreshTtlSeconds) {
+        byte[] key = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("auth.token.secret must be set (AUTH_TOKEN_SECRET) and at least "
+                    + MIN_SECRET_BYTES + " bytes long");
+        }
+        this.signingKey = new SecretKeySpec(key, ALGORITHM);
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.refreshTtlSeconds = refreshTtlSeconds;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public TokenResponse issue(Long userId, UserRole role) {
+        // the role is a signed claim every protected endpoint authorises against
+        if (role == null) {
+            throw new ResponseStatusException(FORBIDDEN, "Account has no role assigned");
+        }
+        long now = nowSeconds();
+        String access = sign(ACCESS, userId, role, now + accessTtlSeconds);
+        String refresh = sign(REFRESH, userId, role, now + refreshTtlSeconds);
+        return new TokenResponse(access, refresh, accessTtlSeconds);
+    }
+
+    /**
+     * Verifies an access token. Returns null when the token is malformed, forged or expired.
+     */
+    public AuthPrincipal verifyAccess(String token) {
+        String[] claims = decode(token);
+        if (claims == null || !ACCESS.equals(claims[0])) {
+            return null;
+        }
+        return toPrincipal(claims);
+    }
+
+    /**
+     * Exchanges a refresh token for a new token pair and revokes the presented one.
+     */
+    public TokenResponse refresh(String refreshToken) {
+        String[] claims = decode(refreshToken);
+        if (claims == null || !REFRESH.equals(claims[0])) {
+            throw new ResponseStatusException(UNAUTHORIZED, "Invalid refresh token");
+        }
+        // putIfAbsent makes the rotation atomic: two concurrent refreshes of the same token cannot both win
+        if (denylist.putIfAbsent(claims[4], Long.parseLong(claims[3])) != null) {
+            throw new ResponseStatusException(UNAUTHORIZED, "Refresh token revoked");
+        }
+        purgeExpired();
+        AuthPrincipal p = toPrincipal(claims);
+        return issue(p.getUserId(), p.getRole());
+    }
+
+    /**
+     * Revokes a refresh token (logout). Unknown or invalid tokens are ignored.
+     */
+    public void revoke(String refreshToken) {
+        String[] claims = decode(refreshToken);
+        if (claims != null && REFRESH.equals(claims[0])) {
+            denylist.put(claims[4], Long.parseLong(claims[3]));
+            purgeExpired();
+        }
+    }
+
+    private String sign(String type, Long userId, UserRole role, long expiresAt) {
+        String payload = type + "|" + userId + "|" + role.name() + "|" + expiresAt + "|" + UUID.randomUUID();
+        byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(body) + "." + ENCODER.encodeToString(mac(body));
+    }
+
+    // returns [type, userId, role, expiresAt, jti] or null if the token does not check out
+    private String[] decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        try {
+            byte[] body = DECODER.decode(token.substring(0, dot));
+            byte[] sig = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sig, mac(body))) {
+                return null;
+            }
+            String[] claims = new String(body, StandardCharsets.UTF_8).split("\\|");
+            if (claims.length != 5 || Long.parseLong(claims[3]) < nowSeconds()) {
+                return null;
+            }
+            return claims;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private AuthPrincipal toPrincipal(String[] claims) {
+        return new AuthPrincipal(Long.valueOf(claims[1]), UserRole.valueOf(claims[2]));
+    }
+
+    private byte[] mac(byte[] body) {
+        Mac mac = macs.get();
+        return mac.doFinal(body);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise token signer", e);
+        }
+    }
+
+    // sweeps at most once a minute so a refresh storm does not turn into repeated full scans
+    private void purgeExpired() {
+        long now = nowSeconds();
+        long last = lastPurge.get();
+        if (now - last < 60 || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        Iterator<Map.Entry<String, Long>> it = denylist.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue() < now) {
+                it.remove();
+            }
+        }
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
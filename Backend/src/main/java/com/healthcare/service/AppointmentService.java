@@ -1,7 +1,12 @@
 package com.healthcare.service;
 
 import com.healthcare.dto.AppointmentRequest;
+import com.healthcare.dto.RescheduleRequest;
+import com.healthcare.security.AuthPrincipal;
 
 public interface AppointmentService {
-    void bookAppointment(AppointmentRequest req);
+    void bookAppointment(AppointmentRequest req, AuthPrincipal principal);
+    void cancelAppointment(Long id, AuthPrincipal principal);
+    void rescheduleAppointment(Long id, RescheduleRequest req, AuthPrincipal principal);
+    void completeAppointment(Long id, AuthPrincipal principal);
 }
@@ -1,10 +1,19 @@
 package com.healthcare.service;
 
 import com.healthcare.dto.DoctorDTO;
+import com.healthcare.dto.LocationRequest;
+import com.healthcare.dto.NearbyDoctorDTO;
+import com.healthcare.security.AuthPrincipal;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 public interface DoctorService {
     List<DoctorDTO> getAllDoctors();
     DoctorDTO getDoctorById(Long id);
+    List<DoctorDTO> getDoctorsBySpecialization(Long specializationId, int minExperienceYears);
+    List<DoctorDTO> getDoctorsByRating(Long specializationId, int minExperienceYears, float minRating);
+    List<NearbyDoctorDTO> findNearby(double latitude, double longitude, double radiusKm, int limit,
+                                     Long specializationId, int minExperienceYears, BigDecimal maxFee);
+    DoctorDTO updateLocation(Long id, LocationRequest req, AuthPrincipal principal);
 }
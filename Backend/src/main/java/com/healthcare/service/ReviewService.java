@@ -0,0 +1,14 @@
+package com.healthcare.service;
+
+import com.healthcare.dto.ReviewDTO;
+import com.healthcare.dto.ReviewRequest;
+import com.healthcare.security.AuthPrincipal;
+
+import java.util.List;
+
+public interface ReviewService {
+    ReviewDTO submit(ReviewRequest req, AuthPrincipal principal);
+    List<ReviewDTO> getForDoctor(Long doctorId, int limit);
+    // smoothed rating for the given aggregates; score(0, 0) is what an unreviewed doctor starts with
+    float score(int count, long sum);
+}
@@ -0,0 +1,14 @@
+package com.healthcare.service;
+
+import com.healthcare.dto.DoctorSpecializationRequest;
+import com.healthcare.dto.SpecializationDTO;
+import com.healthcare.dto.SpecializationRequest;
+
+import java.util.List;
+
+public interface SpecializationService {
+    List<SpecializationDTO> getAllSpecializations();
+    SpecializationDTO createSpecialization(SpecializationRequest req);
+    void assignDoctor(Long specializationId, DoctorSpecializationRequest req);
+    void removeDoctor(Long specializationId, Long doctorId);
+}
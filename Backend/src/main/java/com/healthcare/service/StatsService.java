@@ -0,0 +1,11 @@
+package com.healthcare.service;
+
+import com.healthcare.dto.StatsBucketDTO;
+import com.healthcare.security.AuthPrincipal;
+
+import java.util.List;
+
+public interface StatsService {
+    List<StatsBucketDTO> getDoctorStats(Long doctorId, String from, String to, String granularity, AuthPrincipal principal);
+    List<StatsBucketDTO> getTotals(String from, String to, String granularity, AuthPrincipal principal);
+}
@@ -0,0 +1,13 @@
+package com.healthcare.service;
+
+import com.healthcare.dto.WaitlistEntryDTO;
+import com.healthcare.dto.WaitlistRequest;
+import com.healthcare.security.AuthPrincipal;
+
+import java.util.List;
+
+public interface WaitlistService {
+    WaitlistEntryDTO join(WaitlistRequest req, AuthPrincipal principal);
+    void withdraw(Long entryId, AuthPrincipal principal);
+    List<WaitlistEntryDTO> getForPatient(Long patientId, AuthPrincipal principal);
+}
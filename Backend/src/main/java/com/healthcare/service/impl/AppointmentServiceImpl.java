@@ -3,18 +3,31 @@ package com.healthcare.service.impl;
 import com.healthcare.Entity.Appointment;
 import com.healthcare.Entity.Doctor;
 import com.healthcare.Entity.Patient;
+import com.healthcare.Entity.Status;
+import com.healthcare.Entity.UserRole;
+import com.healthcare.Entity.WaitlistEntry;
+import com.healthcare.Entity.WaitlistStatus;
 import com.healthcare.dto.AppointmentRequest;
+import com.healthcare.dto.RescheduleRequest;
+import com.healthcare.reminder.ReminderScheduler;
 import com.healthcare.repository.AppointmentRepository;
 import com.healthcare.repository.DoctorRepository;
 import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.WaitlistEntryRepository;
+import com.healthcare.security.AuthPrincipal;
 import com.healthcare.service.AppointmentService;
+import com.healthcare.waitlist.WaitlistMatcher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @Service
@@ -29,25 +42,156 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private WaitlistMatcher waitlistMatcher;
+
+    @Autowired
+    private ReminderScheduler reminderScheduler;
+
     @Override
-    public void bookAppointment(AppointmentRequest req) {
+    public void bookAppointment(AppointmentRequest req, AuthPrincipal principal) {
         Patient p = patientRepository.findById(req.getPatientId()).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Patient not found"));
+        if (principal.getRole() != UserRole.ADMIN && !p.getUser().getId().equals(principal.getUserId())) {
+            throw new ResponseStatusException(FORBIDDEN, "Not allowed to book for this patient");
+        }
         Doctor d = doctorRepository.findById(req.getDoctorId()).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Doctor not found"));
 
-        LocalDateTime at;
+        LocalDateTime at = parseDateTime(req.getScheduledAt());
+
+        Appointment saved = appointmentRepository.save(newAppointment(p, d, at, req.getType()));
+        reminderScheduler.schedule(saved.getId(), at);
+    }
+
+    @Override
+    @Transactional
+    public void cancelAppointment(Long id, AuthPrincipal principal) {
+        Appointment a = appointmentRepository.findById(id).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Appointment not found"));
+        if (!canManage(a, principal)) {
+            throw new ResponseStatusException(FORBIDDEN, "Not allowed to cancel this appointment");
+        }
+        if (a.getStatus() == Status.CANCELLED || a.getStatus() == Status.COMPLETED) {
+            throw new ResponseStatusException(BAD_REQUEST, "Appointment can no longer be cancelled");
+        }
+
+        a.setStatus(Status.CANCELLED);
+        appointmentRepository.save(a);
+        afterCommit(() -> reminderScheduler.cancel(a.getId()));
+
+        if (a.getScheduledAt() != null && a.getScheduledAt().isAfter(LocalDateTime.now())) {
+            backfill(a.getDoctor(), a.getScheduledAt(), a.getType(), a.getPatient().getId());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rescheduleAppointment(Long id, RescheduleRequest req, AuthPrincipal principal) {
+        Appointment a = appointmentRepository.findById(id).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Appointment not found"));
+        if (!canManage(a, principal)) {
+            throw new ResponseStatusException(FORBIDDEN, "Not allowed to reschedule this appointment");
+        }
+        if (a.getStatus() != Status.BOOKED && a.getStatus() != Status.CONFIRMED) {
+            throw new ResponseStatusException(BAD_REQUEST, "Appointment can no longer be rescheduled");
+        }
+        LocalDateTime at = parseDateTime(req.getScheduledAt());
+        if (!at.isAfter(LocalDateTime.now())) {
+            throw new ResponseStatusException(BAD_REQUEST, "New time must be in the future");
+        }
+
+        LocalDateTime previous = a.getScheduledAt();
+        a.setScheduledAt(at);
+        appointmentRepository.save(a);
+        afterCommit(() -> reminderScheduler.schedule(a.getId(), at));
+
+        if (previous != null && previous.isAfter(LocalDateTime.now())) {
+            backfill(a.getDoctor(), previous, a.getType(), a.getPatient().getId());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void completeAppointment(Long id, AuthPrincipal principal) {
+        Appointment a = appointmentRepository.findById(id).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Appointment not found"));
+        // only the treating doctor (or an admin) can close an appointment; patients review it afterwards
+        boolean doctor = a.getDoctor().getUserDetails() != null && a.getDoctor().getUserDetails().getId().equals(principal.getUserId());
+        if (principal.getRole() != UserRole.ADMIN && !doctor) {
+            throw new ResponseStatusException(FORBIDDEN, "Not allowed to complete this appointment");
+        }
+        if (a.getStatus() != Status.BOOKED && a.getStatus() != Status.CONFIRMED) {
+            throw new ResponseStatusException(BAD_REQUEST, "Appointment can no longer be completed");
+        }
+        if (a.getScheduledAt() != null && a.getScheduledAt().isAfter(LocalDateTime.now())) {
+            throw new ResponseStatusException(BAD_REQUEST, "Appointment has not taken place yet");
+        }
+
+        a.setStatus(Status.COMPLETED);
+        appointmentRepository.save(a);
+        afterCommit(() -> reminderScheduler.cancel(a.getId()));
+    }
+
+    // offers a freed slot to the first waiting patient; runs inside the caller's transaction
+    private void backfill(Doctor doctor, LocalDateTime at, String type, Long excludedPatientId) {
+        WaitlistMatcher.Ticket ticket;
+        while ((ticket = waitlistMatcher.claim(doctor.getId(), at, excludedPatientId)) != null) {
+            WaitlistEntry w = waitlistEntryRepository.findById(ticket.getEntryId()).orElse(null);
+            // the conditional update settles a race with a concurrent withdrawal; the loaded status may be stale
+            if (w == null || waitlistEntryRepository.closeIfWaiting(w.getId(), WaitlistStatus.FULFILLED, LocalDateTime.now()) == 0) {
+                continue; // withdrawn or already served; try the next in line
+            }
+
+            Appointment a = appointmentRepository.save(newAppointment(w.getPatient(), doctor, at, type));
+            waitlistEntryRepository.linkAppointment(w.getId(), a, LocalDateTime.now());
+            afterCommit(() -> reminderScheduler.schedule(a.getId(), at));
+
+            // if the transaction does not commit, the patient keeps their place in the queue
+            WaitlistMatcher.Ticket claimed = ticket;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        waitlistMatcher.release(claimed);
+                    }
+                }
+            });
+            return;
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private LocalDateTime parseDateTime(String value) {
         try {
-            at = LocalDateTime.parse(req.getScheduledAt());
+            return LocalDateTime.parse(value);
         } catch (Exception e) {
             throw new ResponseStatusException(BAD_REQUEST, "Invalid datetime format");
         }
+    }
+
+    private boolean canManage(Appointment a, AuthPrincipal principal) {
+        if (principal.getRole() == UserRole.ADMIN) {
+            return true;
+        }
+        Long userId = principal.getUserId();
+        return a.getPatient().getUser().getId().equals(userId)
+                || a.getDoctor().getUserDetails().getId().equals(userId);
+    }
 
+    private Appointment newAppointment(Patient p, Doctor d, LocalDateTime at, String type) {
         Appointment a = new Appointment();
         a.setPatient(p);
         a.setDoctor(d);
         a.setScheduledAt(at);
-        a.setType(req.getType());
-        a.setStatus(com.healthcare.Entity.Status.BOOKED);
-
-        appointmentRepository.save(a);
+        a.setType(type);
+        a.setStatus(Status.BOOKED);
+        return a;
     }
 }
@@ -1,16 +1,36 @@
 package com.healthcare.service.impl;
 
 import com.healthcare.Entity.Doctor;
+import com.healthcare.Entity.UserRole;
+import com.healthcare.catalog.SpecializationCatalog;
+import com.healthcare.catalog.SpecializationCatalogService;
 import com.healthcare.dto.DoctorDTO;
+import com.healthcare.dto.LocationRequest;
+import com.healthcare.dto.NearbyDoctorDTO;
+import com.healthcare.geo.DoctorGeoIndex;
 import com.healthcare.repository.DoctorRepository;
+import com.healthcare.security.AuthPrincipal;
 import com.healthcare.service.DoctorService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @Service
@@ -19,6 +39,15 @@ public class DoctorServiceImpl implements DoctorService {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private SpecializationCatalogService catalogService;
+
+    @Autowired
+    private DoctorGeoIndex geoIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<DoctorDTO> getAllDoctors() {
         List<Doctor> docs = doctorRepository.findAll();
@@ -31,11 +60,122 @@ public class DoctorServiceImpl implements DoctorService {
         return map(d);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<DoctorDTO> getDoctorsBySpecialization(Long specializationId, int minExperienceYears) {
+        SpecializationCatalog catalog = catalogService.get();
+        if (!catalog.contains(specializationId)) {
+            throw new ResponseStatusException(NOT_FOUND, "Specialization not found");
+        }
+        long[] ids = catalog.doctorIds(specializationId, minExperienceYears);
+        List<Long> boxed = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            boxed.add(id);
+        }
+        return loadByIds(boxed).stream().filter(Objects::nonNull).map(this::map).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DoctorDTO> getDoctorsByRating(Long specializationId, int minExperienceYears, float minRating) {
+        if (specializationId == null) {
+            return doctorRepository.findByRatingGreaterThanEqualOrderByRatingDesc(minRating).stream()
+                    .map(this::map).collect(Collectors.toList());
+        }
+        return getDoctorsBySpecialization(specializationId, minExperienceYears).stream()
+                .filter(d -> d.getRating() >= minRating)
+                .sorted(Comparator.comparing(DoctorDTO::getRating).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyDoctorDTO> findNearby(double latitude, double longitude, double radiusKm, int limit,
+                                            Long specializationId, int minExperienceYears, BigDecimal maxFee) {
+        validateCoordinates(latitude, longitude);
+
+        LongPredicate filter = null;
+        if (specializationId != null) {
+            SpecializationCatalog catalog = catalogService.get();
+            if (!catalog.contains(specializationId)) {
+                throw new ResponseStatusException(NOT_FOUND, "Specialization not found");
+            }
+            long[] allowed = catalog.doctorIds(specializationId, minExperienceYears);
+            filter = id -> Arrays.binarySearch(allowed, id) >= 0;
+        }
+
+        List<DoctorGeoIndex.Hit> hits = geoIndex.nearest(latitude, longitude, radiusKm, limit, maxFee, filter);
+        List<Long> ids = hits.stream().map(DoctorGeoIndex.Hit::getDoctorId).collect(Collectors.toList());
+        List<Doctor> doctors = loadByIds(ids);
+
+        List<NearbyDoctorDTO> result = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            Doctor d = doctors.get(i);
+            if (d != null) {
+                result.add(new NearbyDoctorDTO(map(d), hits.get(i).getDistanceKm()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public DoctorDTO updateLocation(Long id, LocationRequest req, AuthPrincipal principal) {
+        // locked like a review, so the cache entry written on commit carries current rating aggregates
+        Doctor d = entityManager.find(Doctor.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (d == null) {
+            throw new ResponseStatusException(NOT_FOUND, "Doctor not found");
+        }
+        boolean owner = d.getUserDetails() != null && d.getUserDetails().getId().equals(principal.getUserId());
+        if (principal.getRole() != UserRole.ADMIN && !owner) {
+            throw new ResponseStatusException(FORBIDDEN, "Not allowed to update this doctor");
+        }
+        if ((req.getLatitude() == null) != (req.getLongitude() == null)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Latitude and longitude must be given together");
+        }
+        if (req.isClearCoordinates() && req.getLatitude() != null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Cannot set and clear coordinates in one request");
+        }
+        if (req.getLatitude() != null) {
+            validateCoordinates(req.getLatitude(), req.getLongitude());
+        }
+
+        if (req.getLocation() != null) {
+            d.setLocation(req.getLocation());
+        }
+        if (req.isClearCoordinates()) {
+            d.setLatitude(null);
+            d.setLongitude(null);
+        } else if (req.getLatitude() != null) {
+            d.setLatitude(req.getLatitude());
+            d.setLongitude(req.getLongitude());
+        }
+        // only the changed columns are written; DoctorGeoListener moves the doctor in the spatial index once this commits
+        return map(d);
+    }
+
+    // Session multi-load resolves ids from the second-level cache first and only queries the misses;
+    // findAllById always runs a JPQL IN query. Results follow the order of ids, with null for missing doctors.
+    private List<Doctor> loadByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class).findMultiple(Doctor.class, ids);
+    }
+
+    private void validateCoordinates(double latitude, double longitude) {
+        // NaN fails every range comparison, so it has to be rejected explicitly
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude)
+                || latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid coordinates");
+        }
+    }
+
     private DoctorDTO map(Doctor d) {
         String name = "";
         if (d.getUserDetails() != null) {
             name = d.getUserDetails().getFirstName() + " " + d.getUserDetails().getLastName();
         }
-        return new DoctorDTO(d.getId(), name, d.getLocation(), d.getConsultationFee(), d.getRating());
+        return new DoctorDTO(d.getId(), name, d.getLocation(), d.getConsultationFee(), d.getRating(), d.getRatingCount(), d.getLatitude(), d.getLongitude());
     }
 }
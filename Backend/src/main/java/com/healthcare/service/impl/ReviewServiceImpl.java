@@ -0,0 +1,123 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.Entity.Appointment;
+import com.healthcare.Entity.Doctor;
+import com.healthcare.Entity.Review;
+import com.healthcare.Entity.Status;
+import com.healthcare.dto.ReviewDTO;
+import com.healthcare.dto.ReviewRequest;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.ReviewRepository;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.service.ReviewService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Stores patient reviews and keeps each doctor's rating aggregates current.
+ *
+ * A review adds to the doctor's ratingCount/ratingSum and recomputes the stored
+ * rating as a Bayesian average, (priorWeight * priorMean + sum) / (priorWeight + count),
+ * so a doctor with a handful of reviews is pulled towards the prior instead of
+ * topping the directory with a single 5. The doctor is loaded under a row lock,
+ * which serialises concurrent reviews of the same doctor without touching the
+ * reviews table, and only the three rating columns are written back. Doctors without reviews carry score(0, 0), the prior mean, so
+ * they rank alongside the reviewed ones rather than below a single 1-star.
+ */
+@Service
+public class ReviewServiceImpl implements ReviewService {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${rating.prior-mean:3.5}")
+    private double priorMean;
+
+    @Value("${rating.prior-weight:5}")
+    private double priorWeight;
+
+    @Override
+    @Transactional
+    public ReviewDTO submit(ReviewRequest req, AuthPrincipal principal) {
+        if (req.getRating() < 1 || req.getRating() > 5) {
+            throw new ResponseStatusException(BAD_REQUEST, "Rating must be between 1 and 5");
+        }
+        Appointment a = appointmentRepository.findById(req.getAppointmentId()).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Appointment not found"));
+        if (!a.getPatient().getUser().getId().equals(principal.getUserId())) {
+            throw new ResponseStatusException(FORBIDDEN, "Only the patient can review this appointment");
+        }
+        if (a.getStatus() != Status.COMPLETED) {
+            throw new ResponseStatusException(BAD_REQUEST, "Only completed appointments can be reviewed");
+        }
+
+        // the doctor loaded with the appointment may hold aggregates from before this transaction;
+        // detach it so the locking find reads the row rather than just locking the stale instance
+        Long doctorId = a.getDoctor().getId();
+        entityManager.detach(a.getDoctor());
+        Doctor d = entityManager.find(Doctor.class, doctorId, LockModeType.PESSIMISTIC_WRITE);
+
+        if (reviewRepository.existsByAppointmentId(a.getId())) {
+            throw new ResponseStatusException(CONFLICT, "Appointment already reviewed");
+        }
+        Review r = new Review(a, d, a.getPatient(), req.getRating(), req.getComment());
+        Review saved = reviewRepository.save(r);
+
+        d.setRatingCount(d.getRatingCount() + 1);
+        d.setRatingSum(d.getRatingSum() + req.getRating());
+        d.setRating(score(d.getRatingCount(), d.getRatingSum()));
+
+        return map(saved);
+    }
+
+    @Override
+    public List<ReviewDTO> getForDoctor(Long doctorId, int limit) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new ResponseStatusException(NOT_FOUND, "Doctor not found");
+        }
+        return reviewRepository.findByDoctorIdOrderByIdDesc(doctorId, PageRequest.of(0, Math.max(1, limit))).stream()
+                .map(this::map).collect(Collectors.toList());
+    }
+
+    // rows created before ratings were smoothed, or under a different prior, still hold a stale default
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillUnreviewed() {
+        doctorRepository.setRatingWhereUnreviewed(score(0, 0));
+    }
+
+    @Override
+    public float score(int count, long sum) {
+        return (float) ((priorWeight * priorMean + sum) / (priorWeight + count));
+    }
+
+    private ReviewDTO map(Review r) {
+        return new ReviewDTO(r.getId(), r.getAppointment().getId(), r.getDoctor().getId(), r.getPatient().getId(),
+                r.getRating(), r.getComment(), r.getCreatedOn());
+    }
+}
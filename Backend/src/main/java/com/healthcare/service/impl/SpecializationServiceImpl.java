@@ -0,0 +1,87 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.Entity.Doctor;
+import com.healthcare.Entity.DoctorSpecialization;
+import com.healthcare.Entity.Specialization;
+import com.healthcare.catalog.SpecializationCatalogService;
+import com.healthcare.dto.DoctorSpecializationRequest;
+import com.healthcare.dto.SpecializationDTO;
+import com.healthcare.dto.SpecializationRequest;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.DoctorSpecializationRepository;
+import com.healthcare.repository.SpecializationRepository;
+import com.healthcare.service.SpecializationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+@Service
+public class SpecializationServiceImpl implements SpecializationService {
+
+    @Autowired
+    private SpecializationRepository specializationRepository;
+
+    @Autowired
+    private DoctorSpecializationRepository doctorSpecializationRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SpecializationCatalogService catalogService;
+
+    @Override
+    public List<SpecializationDTO> getAllSpecializations() {
+        return catalogService.get().getSpecializations();
+    }
+
+    @Override
+    public SpecializationDTO createSpecialization(SpecializationRequest req) {
+        if (req.getName() == null || req.getName().isBlank()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Specialization name is required");
+        }
+        if (specializationRepository.existsByName(req.getName())) {
+            throw new ResponseStatusException(BAD_REQUEST, "Specialization already exists");
+        }
+        Specialization s = new Specialization();
+        s.setName(req.getName());
+        Specialization saved = specializationRepository.save(s);
+
+        catalogService.refresh();
+        return new SpecializationDTO(saved.getId(), saved.getName(), 0);
+    }
+
+    @Override
+    public void assignDoctor(Long specializationId, DoctorSpecializationRequest req) {
+        Specialization s = specializationRepository.findById(specializationId).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Specialization not found"));
+        Doctor d = doctorRepository.findById(req.getDoctorId()).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Doctor not found"));
+        if (req.getExperienceYears() < 0) {
+            throw new ResponseStatusException(BAD_REQUEST, "Experience years cannot be negative");
+        }
+
+        DoctorSpecialization ds = doctorSpecializationRepository
+                .findByDoctorIdAndSpecializationId(d.getId(), s.getId())
+                .orElseGet(DoctorSpecialization::new);
+        ds.setDoctor(d);
+        ds.setSpecialization(s);
+        ds.setExperienceYears(req.getExperienceYears());
+        doctorSpecializationRepository.save(ds);
+
+        catalogService.refresh();
+    }
+
+    @Override
+    public void removeDoctor(Long specializationId, Long doctorId) {
+        DoctorSpecialization ds = doctorSpecializationRepository
+                .findByDoctorIdAndSpecializationId(doctorId, specializationId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Doctor does not have this specialization"));
+        doctorSpecializationRepository.delete(ds);
+
+        catalogService.refresh();
+    }
+}
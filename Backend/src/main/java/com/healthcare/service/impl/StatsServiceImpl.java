@@ -0,0 +1,121 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.Entity.Doctor;
+import com.healthcare.Entity.DoctorDailyStats;
+import com.healthcare.Entity.UserRole;
+import com.healthcare.dto.StatsBucketDTO;
+import com.healthcare.repository.DoctorDailyStatsRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.rollup.Granularity;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.service.StatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Dashboard figures, read only from the pre-aggregated doctor_daily_stats rows.
+ * A range costs one row per doctor and day, however many payments and
+ * appointments it covers; weeks and months are summed from the daily rows here.
+ */
+@Service
+public class StatsServiceImpl implements StatsService {
+
+    private static final long MAX_RANGE_DAYS = 3 * 366;
+
+    @Autowired
+    private DoctorDailyStatsRepository statsRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Override
+    public List<StatsBucketDTO> getDoctorStats(Long doctorId, String from, String to, String granularity, AuthPrincipal principal) {
+        Doctor d = doctorRepository.findById(doctorId).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Doctor not found"));
+        boolean owner = d.getUserDetails() != null && d.getUserDetails().getId().equals(principal.getUserId());
+        if (principal.getRole() != UserRole.ADMIN && !owner) {
+            throw new ResponseStatusException(FORBIDDEN, "Not allowed to view this doctor's stats");
+        }
+        LocalDate start = parseDate(from);
+        LocalDate end = parseDate(to);
+        validateRange(start, end);
+        Granularity g = parseGranularity(granularity);
+
+        Map<LocalDate, StatsBucketDTO> buckets = new LinkedHashMap<>();
+        for (DoctorDailyStats s : statsRepository.findByDoctorIdAndDayBetweenOrderByDay(doctorId, start, end)) {
+            add(bucket(buckets, g.periodStart(s.getDay())), s.getRevenue(), s.getPaymentCount(),
+                    s.getBookedCount(), s.getConfirmedCount(), s.getCancelledCount(), s.getCompletedCount());
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    @Override
+    public List<StatsBucketDTO> getTotals(String from, String to, String granularity, AuthPrincipal principal) {
+        if (principal.getRole() != UserRole.ADMIN) {
+            throw new ResponseStatusException(FORBIDDEN, "Admin only");
+        }
+        LocalDate start = parseDate(from);
+        LocalDate end = parseDate(to);
+        validateRange(start, end);
+        Granularity g = parseGranularity(granularity);
+
+        Map<LocalDate, StatsBucketDTO> buckets = new LinkedHashMap<>();
+        for (Object[] r : statsRepository.sumByDay(start, end)) {
+            add(bucket(buckets, g.periodStart((LocalDate) r[0])), (BigDecimal) r[1], ((Number) r[2]).longValue(),
+                    ((Number) r[3]).longValue(), ((Number) r[4]).longValue(), ((Number) r[5]).longValue(), ((Number) r[6]).longValue());
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    private static StatsBucketDTO bucket(Map<LocalDate, StatsBucketDTO> buckets, LocalDate periodStart) {
+        return buckets.computeIfAbsent(periodStart, StatsBucketDTO::new);
+    }
+
+    private static void add(StatsBucketDTO b, BigDecimal revenue, long payments,
+                            long booked, long confirmed, long cancelled, long completed) {
+        b.setRevenue(b.getRevenue().add(revenue));
+        b.setPaymentCount(b.getPaymentCount() + payments);
+        b.setBookedCount(b.getBookedCount() + booked);
+        b.setConfirmedCount(b.getConfirmedCount() + confirmed);
+        b.setCancelledCount(b.getCancelledCount() + cancelled);
+        b.setCompletedCount(b.getCompletedCount() + completed);
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Range must end on or after its start");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(BAD_REQUEST, "Range too long");
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (Exception e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid date format");
+        }
+    }
+
+    private static Granularity parseGranularity(String value) {
+        try {
+            return Granularity.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Granularity must be day, week or month");
+        }
+    }
+}
@@ -3,12 +3,14 @@ package com.healthcare.service.impl;
 import com.healthcare.Entity.Doctor;
 import com.healthcare.Entity.Patient;
 import com.healthcare.Entity.User;
+import com.healthcare.Entity.UserRole;
 import com.healthcare.dto.LoginRequest;
 import com.healthcare.dto.SignupRequest;
 import com.healthcare.dto.UserResponse;
 import com.healthcare.repository.DoctorRepository;
 import com.healthcare.repository.PatientRepository;
 import com.healthcare.repository.UserRepository;
+import com.healthcare.service.ReviewService;
 import com.healthcare.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -18,6 +20,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @Service
@@ -32,8 +35,18 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private ReviewService reviewService;
+
     @Override
     public UserResponse signup(SignupRequest req) {
+        if (req.getRole() == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Role is required");
+        }
+        // admin accounts are provisioned out of band, never through self signup
+        if (req.getRole() == UserRole.ADMIN) {
+            throw new ResponseStatusException(FORBIDDEN, "Cannot sign up as an admin");
+        }
         if (userRepository.existsByEmail(req.getEmail())) {
             throw new ResponseStatusException(BAD_REQUEST, "Email already in use");
         }
@@ -58,24 +71,23 @@ public class UserServiceImpl implements UserService {
         User saved = userRepository.save(u);
 
         // create role-specific entity skeletons
-        if (req.getRole() != null) {
-            switch (req.getRole()) {
-                case PATIENT:
-                    Patient p = new Patient();
-                    p.setUser(saved);
-                    p.setAddress("");
-                    patientRepository.save(p);
-                    break;
-                case DOCTOR:
-                    Doctor d = new Doctor();
-                    d.setUserDetails(saved);
-                    d.setLocation("");
-                    d.setConsultationFee(null);
-                    doctorRepository.save(d);
-                    break;
-                default:
-                    break;
-            }
+        switch (req.getRole()) {
+            case PATIENT:
+                Patient p = new Patient();
+                p.setUser(saved);
+                p.setAddress("");
+                patientRepository.save(p);
+                break;
+            case DOCTOR:
+                Doctor d = new Doctor();
+                d.setUserDetails(saved);
+                d.setLocation("");
+                d.setConsultationFee(null);
+                d.setRating(reviewService.score(0, 0));
+                doctorRepository.save(d);
+                break;
+            default:
+                break;
         }
 
         return mapToResponse(saved);
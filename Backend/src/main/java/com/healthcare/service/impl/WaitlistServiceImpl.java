@@ -0,0 +1,117 @@
+package com.healthcare.service.impl;
+
+import com.healthcare.Entity.Doctor;
+import com.healthcare.Entity.Patient;
+import com.healthcare.Entity.UserRole;
+import com.healthcare.Entity.WaitlistEntry;
+import com.healthcare.Entity.WaitlistStatus;
+import com.healthcare.dto.WaitlistEntryDTO;
+import com.healthcare.dto.WaitlistRequest;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.WaitlistEntryRepository;
+import com.healthcare.security.AuthPrincipal;
+import com.healthcare.service.WaitlistService;
+import com.healthcare.waitlist.WaitlistMatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private WaitlistMatcher matcher;
+
+    @Value("${waitlist.max-window-hours:168}")
+    private long maxWindowHours;
+
+    @Override
+    public WaitlistEntryDTO join(WaitlistRequest req, AuthPrincipal principal) {
+        Patient p = patientRepository.findById(req.getPatientId()).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Patient not found"));
+        if (!canManage(p, principal)) {
+            throw new ResponseStatusException(FORBIDDEN, "Not allowed to join the waitlist for this patient");
+        }
+        Doctor d = doctorRepository.findById(req.getDoctorId()).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Doctor not found"));
+
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            start = LocalDateTime.parse(req.getWindowStart());
+            end = LocalDateTime.parse(req.getWindowEnd());
+        } catch (Exception e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid datetime format");
+        }
+        if (!end.isAfter(start) || !end.isAfter(LocalDateTime.now())) {
+            throw new ResponseStatusException(BAD_REQUEST, "Window must end after it starts and in the future");
+        }
+        if (Duration.between(start, end).toHours() > maxWindowHours) {
+            throw new ResponseStatusException(BAD_REQUEST, "Window cannot be longer than " + maxWindowHours + " hours");
+        }
+        if (matcher.slotsCovered(start, end) == 0) {
+            throw new ResponseStatusException(BAD_REQUEST, "Window does not cover any appointment slot");
+        }
+
+        WaitlistEntry w = new WaitlistEntry();
+        w.setPatient(p);
+        w.setDoctor(d);
+        w.setWindowStart(start);
+        w.setWindowEnd(end);
+        w.setStatus(WaitlistStatus.WAITING);
+        WaitlistEntry saved = waitlistEntryRepository.save(w);
+
+        matcher.add(saved.getId(), d.getId(), p.getId(), start, end);
+        return map(saved);
+    }
+
+    @Override
+    public void withdraw(Long entryId, AuthPrincipal principal) {
+        WaitlistEntry w = waitlistEntryRepository.findById(entryId).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Waitlist entry not found"));
+        if (!canManage(w.getPatient(), principal)) {
+            throw new ResponseStatusException(FORBIDDEN, "Not allowed to withdraw this waitlist entry");
+        }
+        // conditional, so a back-fill that got there first is not overwritten
+        if (waitlistEntryRepository.closeIfWaiting(w.getId(), WaitlistStatus.WITHDRAWN, LocalDateTime.now()) == 0) {
+            throw new ResponseStatusException(BAD_REQUEST, "Waitlist entry is no longer waiting");
+        }
+        matcher.remove(w.getId());
+    }
+
+    @Override
+    public List<WaitlistEntryDTO> getForPatient(Long patientId, AuthPrincipal principal) {
+        Patient p = patientRepository.findById(patientId).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Patient not found"));
+        if (!canManage(p, principal)) {
+            throw new ResponseStatusException(FORBIDDEN, "Not allowed to view this patient's waitlist");
+        }
+        return waitlistEntryRepository.findByPatientIdOrderByIdDesc(patientId).stream().map(this::map).collect(Collectors.toList());
+    }
+
+    private boolean canManage(Patient p, AuthPrincipal principal) {
+        return principal.getRole() == UserRole.ADMIN || p.getUser().getId().equals(principal.getUserId());
+    }
+
+    private WaitlistEntryDTO map(WaitlistEntry w) {
+        Long appointmentId = w.getAppointment() != null ? w.getAppointment().getId() : null;
+        return new WaitlistEntryDTO(w.getId(), w.getPatient().getId(), w.getDoctor().getId(),
+                w.getWindowStart(), w.getWindowEnd(), w.getStatus(), appointmentId);
+    }
+}
@@ -0,0 +1,251 @@
+package com.healthcare.waitlist;
+
+import com.healthcare.Entity.WaitlistEntry;
+import com.healthcare.Entity.WaitlistStatus;
+import com.healthcare.repository.WaitlistEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory matching index for the waitlist.
+ *
+ * Time is cut into fixed slots (waitlist.slot-minutes). Every doctor has one
+ * priority queue per slot, and a waiting entry sits in the queue of each slot its
+ * window covers, ordered by entry id (first come, first served). A freed slot is
+ * matched by polling one queue, which is O(log n). Withdrawn or already matched
+ * tickets are dropped lazily when they surface at the head of a queue.
+ *
+ * Appointments are not pinned to slot boundaries, so a freed time can fall inside a
+ * slot without being inside every window queued on it; claim() checks the ticket's
+ * own window before handing the time out.
+ *
+ * Each doctor's queues are guarded by their own monitor, so cancellations for
+ * different doctors never contend.
+ *
+ * A periodic sweep drops queues for slots that have already started and expires
+ * entries whose window has ended, both here and in waitlist_entries.
+ */
+@Component
+public class WaitlistMatcher {
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    private final long slotSeconds;
+    private final Map<Long, DoctorQueues> doctors = new ConcurrentHashMap<>();
+    // live tickets by entry id, so withdrawals do not have to search the queues
+    private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public WaitlistMatcher(@Value("${waitlist.slot-minutes:30}") long slotMinutes) {
+        this.slotSeconds = slotMinutes * 60;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (WaitlistEntry e : waitlistEntryRepository.findByStatusAndWindowEndAfter(WaitlistStatus.WAITING, LocalDateTime.now())) {
+            add(e.getId(), e.getDoctor().getId(), e.getPatient().getId(), e.getWindowStart(), e.getWindowEnd());
+        }
+    }
+
+    /**
+     * Number of slot queues an entry with this window would occupy.
+     */
+    public long slotsCovered(LocalDateTime windowStart, LocalDateTime windowEnd) {
+        return Math.max(0, lastSlot(windowEnd) - firstSlot(windowStart) + 1);
+    }
+
+    public void add(long entryId, long doctorId, long patientId, LocalDateTime windowStart, LocalDateTime windowEnd) {
+        Ticket t = new Ticket(entryId, doctorId, patientId, epochSecond(windowStart), epochSecond(windowEnd),
+                firstSlot(windowStart), lastSlot(windowEnd));
+        if (t.firstSlot > t.lastSlot) {
+            return;
+        }
+        tickets.put(entryId, t);
+        DoctorQueues q = doctors.computeIfAbsent(doctorId, k -> new DoctorQueues());
+        synchronized (q) {
+            for (long slot = t.firstSlot; slot <= t.lastSlot; slot++) {
+                q.bySlot.computeIfAbsent(slot, k -> new PriorityQueue<>()).offer(t);
+            }
+        }
+    }
+
+    /**
+     * Marks an entry as no longer waiting; its queue positions are cleaned up lazily.
+     */
+    public void remove(long entryId) {
+        Ticket t = tickets.remove(entryId);
+        if (t != null) {
+            t.active = false;
+        }
+    }
+
+    /**
+     * Claims the best waiting entry whose window contains a freed appointment time of a
+     * doctor, skipping the given patient (normally the one who just cancelled). The
+     * ticket is taken out of play; hand it back with {@link #release(Ticket)} if the
+     * booking does not go through.
+     *
+     * @return the claimed ticket, or null if nobody is waiting for this time
+     */
+    public Ticket claim(long doctorId, LocalDateTime slotTime, long excludedPatientId) {
+        DoctorQueues q = doctors.get(doctorId);
+        if (q == null) {
+            return null;
+        }
+        long at = epochSecond(slotTime);
+        long slot = Math.floorDiv(at, slotSeconds);
+        synchronized (q) {
+            PriorityQueue<Ticket> queue = q.bySlot.get(slot);
+            if (queue == null) {
+                return null;
+            }
+            List<Ticket> skipped = new ArrayList<>(0);
+            Ticket claimed = null;
+            while (!queue.isEmpty()) {
+                Ticket head = queue.poll();
+                if (!head.active) {
+                    continue;
+                }
+                // queued on this slot, but the freed time lies outside the window the patient asked for
+                if (head.patientId == excludedPatientId || !head.covers(at)) {
+                    skipped.add(head);
+                    continue;
+                }
+                head.active = false;
+                claimed = head;
+                break;
+            }
+            queue.addAll(skipped);
+            if (queue.isEmpty()) {
+                q.bySlot.remove(slot);
+            }
+            if (claimed != null) {
+                claimed.claimedSlot = slot;
+                tickets.remove(claimed.entryId);
+            }
+            return claimed;
+        }
+    }
+
+    /**
+     * Returns a claimed ticket to its queue, e.g. after the back-fill transaction rolled back.
+     */
+    public void release(Ticket t) {
+        DoctorQueues q = doctors.computeIfAbsent(t.doctorId, k -> new DoctorQueues());
+        synchronized (q) {
+            t.active = true;
+            tickets.put(t.entryId, t);
+            q.bySlot.computeIfAbsent(t.claimedSlot, k -> new PriorityQueue<>()).offer(t);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${waitlist.sweep-interval-ms:300000}", initialDelayString = "${waitlist.sweep-interval-ms:300000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        sweep(now);
+        waitlistEntryRepository.expireEndedBefore(now);
+    }
+
+    /**
+     * Drops slot queues that started before the current slot and forgets tickets
+     * whose window ended at or before now.
+     */
+    void sweep(LocalDateTime now) {
+        long nowSecond = epochSecond(now);
+        long currentSlot = Math.floorDiv(nowSecond, slotSeconds);
+        Iterator<Ticket> it = tickets.values().iterator();
+        while (it.hasNext()) {
+            Ticket t = it.next();
+            if (t.windowEnd <= nowSecond) {
+                t.active = false;
+                it.remove();
+            }
+        }
+        for (DoctorQueues q : doctors.values()) {
+            synchronized (q) {
+                q.bySlot.keySet().removeIf(slot -> slot < currentSlot);
+            }
+        }
+    }
+
+    int queuedSlots() {
+        int n = 0;
+        for (DoctorQueues q : doctors.values()) {
+            synchronized (q) {
+                n += q.bySlot.size();
+            }
+        }
+        return n;
+    }
+
+    int liveTickets() {
+        return tickets.size();
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // a window [start, end) covers the slots that start inside it
+    private long firstSlot(LocalDateTime windowStart) {
+        return Math.floorDiv(epochSecond(windowStart) + slotSeconds - 1, slotSeconds);
+    }
+
+    private long lastSlot(LocalDateTime windowEnd) {
+        return Math.floorDiv(epochSecond(windowEnd) + slotSeconds - 1, slotSeconds) - 1;
+    }
+
+    private static final class DoctorQueues {
+        final Map<Long, PriorityQueue<Ticket>> bySlot = new HashMap<>();
+    }
+
+    public static final class Ticket implements Comparable<Ticket> {
+        private final long entryId;
+        private final long doctorId;
+        private final long patientId;
+        // requested window [windowStart, windowEnd) in epoch seconds
+        private final long windowStart;
+        private final long windowEnd;
+        private final long firstSlot;
+        private final long lastSlot;
+        private volatile boolean active = true;
+        private long claimedSlot;
+
+        Ticket(long entryId, long doctorId, long patientId, long windowStart, long windowEnd, long firstSlot, long lastSlot) {
+            this.entryId = entryId;
+            this.doctorId = doctorId;
+            this.patientId = patientId;
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.firstSlot = firstSlot;
+            this.lastSlot = lastSlot;
+        }
+
+        public long getEntryId() {
+            return entryId;
+        }
+
+        boolean covers(long epochSecond) {
+            return epochSecond >= windowStart && epochSecond < windowEnd;
+        }
+
+        @Override
+        public int compareTo(Ticket o) {
+            return Long.compare(entryId, o.entryId);
+        }
+    }
+}
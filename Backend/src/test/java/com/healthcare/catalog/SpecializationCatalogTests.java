@@ -0,0 +1,108 @@
+package com.healthcare.catalog;
+
+import com.healthcare.Entity.Specialization;
+import com.healthcare.dto.SpecializationDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SpecializationCatalogTests {
+
+    private static final long CARDIOLOGY = 10;
+    private static final long DERMATOLOGY = 20;
+    private static final long NEUROLOGY = 30;
+
+    // neurology has no doctors linked to it
+    private final SpecializationCatalog catalog = SpecializationCatalog.build(
+            List.of(spec(NEUROLOGY, "neurology"), spec(CARDIOLOGY, "Cardiology"), spec(DERMATOLOGY, "dermatology")),
+            List.of(
+                    link(CARDIOLOGY, 5, 3),
+                    link(CARDIOLOGY, 2, 10),
+                    link(CARDIOLOGY, 9, 7),
+                    link(CARDIOLOGY, 1, 7),
+                    link(DERMATOLOGY, 4, 0)));
+
+    @Test
+    void listsSpecializationsByNameWithDoctorCounts() {
+        assertThat(catalog.getSpecializations())
+                .extracting(SpecializationDTO::getName, SpecializationDTO::getDoctorCount)
+                .containsExactly(
+                        tuple("Cardiology", 4),
+                        tuple("dermatology", 1),
+                        tuple("neurology", 0));
+    }
+
+    @Test
+    void returnsDoctorIdsInAscendingOrder() {
+        assertThat(catalog.doctorIds(CARDIOLOGY)).containsExactly(1, 2, 5, 9);
+        assertThat(catalog.doctorIds(CARDIOLOGY, 0)).containsExactly(1, 2, 5, 9);
+    }
+
+    @Test
+    void experienceThresholdIsInclusive() {
+        assertThat(catalog.doctorIds(CARDIOLOGY, 7)).containsExactly(1, 2, 9);
+        assertThat(catalog.doctorIds(CARDIOLOGY, 8)).containsExactly(2);
+        assertThat(catalog.doctorIds(CARDIOLOGY, 10)).containsExactly(2);
+        assertThat(catalog.doctorIds(CARDIOLOGY, 11)).isEmpty();
+        assertThat(catalog.doctorIds(DERMATOLOGY, 0)).containsExactly(4);
+        assertThat(catalog.doctorIds(DERMATOLOGY, 1)).isEmpty();
+    }
+
+    @Test
+    void unknownSpecializationHasNoDoctors() {
+        assertThat(catalog.contains(99)).isFalse();
+        assertThat(catalog.doctorIds(99)).isEmpty();
+        assertThat(catalog.doctorIds(99, 0)).isEmpty();
+    }
+
+    @Test
+    void specializationWithoutDoctorsIsKnownButEmpty() {
+        assertThat(catalog.contains(NEUROLOGY)).isTrue();
+        assertThat(catalog.doctorIds(NEUROLOGY)).isEmpty();
+        assertThat(catalog.doctorIds(NEUROLOGY, 0)).isEmpty();
+    }
+
+    @Test
+    void ignoresLinksToUnknownSpecializations() {
+        SpecializationCatalog c = SpecializationCatalog.build(List.of(spec(CARDIOLOGY, "Cardiology")),
+                List.of(link(CARDIOLOGY, 1, 2), link(99, 3, 4)));
+
+        assertThat(c.contains(99)).isFalse();
+        assertThat(c.doctorIds(CARDIOLOGY)).containsExactly(1);
+    }
+
+    @Test
+    void emptyCatalogHasNothing() {
+        assertThat(SpecializationCatalog.EMPTY.getSpecializations()).isEmpty();
+        assertThat(SpecializationCatalog.EMPTY.contains(CARDIOLOGY)).isFalse();
+        assertThat(SpecializationCatalog.EMPTY.doctorIds(CARDIOLOGY, 0)).isEmpty();
+    }
+
+    @Test
+    void countAtLeastFindsTheFirstEntryBelowTheThreshold() {
+        int[] descending = {10, 7, 7, 3};
+
+        assertThat(SpecializationCatalog.countAtLeast(descending, Integer.MIN_VALUE)).isEqualTo(4);
+        assertThat(SpecializationCatalog.countAtLeast(descending, 3)).isEqualTo(4);
+        assertThat(SpecializationCatalog.countAtLeast(descending, 4)).isEqualTo(3);
+        assertThat(SpecializationCatalog.countAtLeast(descending, 7)).isEqualTo(3);
+        assertThat(SpecializationCatalog.countAtLeast(descending, 8)).isEqualTo(1);
+        assertThat(SpecializationCatalog.countAtLeast(descending, 10)).isEqualTo(1);
+        assertThat(SpecializationCatalog.countAtLeast(descending, 11)).isEqualTo(0);
+        assertThat(SpecializationCatalog.countAtLeast(new int[0], 0)).isEqualTo(0);
+    }
+
+    private static Specialization spec(long id, String name) {
+        Specialization s = new Specialization();
+        s.setId(id);
+        s.setName(name);
+        return s;
+    }
+
+    private static Object[] link(long specializationId, long doctorId, int experienceYears) {
+        return new Object[]{specializationId, doctorId, experienceYears};
+    }
+}
@@ -0,0 +1,123 @@
+package com.healthcare.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoctorGeoIndexTests {
+
+    private static final BigDecimal FEE = new BigDecimal("500");
+
+    private final DoctorGeoIndex index = new DoctorGeoIndex(0.1);
+
+    @Test
+    void returnsNearestFirstWithinLimit() {
+        index.upsert(1, 12.90, 77.60, FEE);
+        index.upsert(2, 12.95, 77.60, FEE);
+        index.upsert(3, 13.20, 77.60, FEE);
+
+        List<DoctorGeoIndex.Hit> hits = index.nearest(12.90, 77.60, 100, 2, null, null);
+
+        assertThat(hits).extracting(DoctorGeoIndex.Hit::getDoctorId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void stopsWalkingRingsOnceLimitIsProvablyFilled() {
+        index.upsert(1, 12.901, 77.601, FEE);
+        index.upsert(2, 17.000, 77.600, FEE); // ~455 km away, well inside the radius
+        Set<Long> inspected = new HashSet<>();
+
+        List<DoctorGeoIndex.Hit> hits = index.nearest(12.90, 77.60, 1000, 1, null, id -> inspected.add(id));
+
+        assertThat(hits).extracting(DoctorGeoIndex.Hit::getDoctorId).containsExactly(1L);
+        assertThat(inspected).containsExactly(1L);
+    }
+
+    @Test
+    void earlyStopNeverDropsACloserDoctorInAnOuterRing() {
+        // query sits at the east edge of its cell; the neighbour across the edge is closer than the cell mate
+        index.upsert(1, 12.95, 77.501, FEE);
+        index.upsert(2, 12.95, 77.601, FEE);
+
+        List<DoctorGeoIndex.Hit> hits = index.nearest(12.95, 77.599, 50, 1, null, null);
+
+        assertThat(hits).extracting(DoctorGeoIndex.Hit::getDoctorId).containsExactly(2L);
+    }
+
+    @Test
+    void matchesBruteForceOnRandomPoints() {
+        Random random = new Random(7);
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            double lat = 12 + random.nextDouble() * 2;
+            double lon = 77 + random.nextDouble() * 2;
+            points.add(new double[]{lat, lon});
+            index.upsert(i, lat, lon, FEE);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            double lat = 12 + random.nextDouble() * 2;
+            double lon = 77 + random.nextDouble() * 2;
+            List<Long> expected = new ArrayList<>();
+            for (int i = 0; i < points.size(); i++) {
+                if (DoctorGeoIndex.distanceKm(lat, lon, points.get(i)[0], points.get(i)[1]) <= 40) {
+                    expected.add((long) i);
+                }
+            }
+            expected.sort(Comparator.comparingDouble(i -> DoctorGeoIndex.distanceKm(lat, lon,
+                    points.get(i.intValue())[0], points.get(i.intValue())[1])));
+
+            List<Long> actual = index.nearest(lat, lon, 40, 10, null, null).stream()
+                    .map(DoctorGeoIndex.Hit::getDoctorId).collect(Collectors.toList());
+
+            assertThat(actual).isEqualTo(expected.subList(0, Math.min(10, expected.size())));
+        }
+    }
+
+    @Test
+    void wrapsAroundTheAntimeridian() {
+        index.upsert(1, 0.0, 179.95, FEE);
+        index.upsert(2, 0.0, -179.95, FEE);
+
+        List<DoctorGeoIndex.Hit> fromWest = index.nearest(0.0, -179.99, 20, 5, null, null);
+        List<DoctorGeoIndex.Hit> fromEast = index.nearest(0.0, 179.99, 20, 5, null, null);
+
+        assertThat(fromWest).extracting(DoctorGeoIndex.Hit::getDoctorId).containsExactly(2L, 1L);
+        assertThat(fromEast).extracting(DoctorGeoIndex.Hit::getDoctorId).containsExactly(1L, 2L);
+        assertThat(fromWest.get(1).getDistanceKm()).isLessThan(10);
+    }
+
+    @Test
+    void upsertMovesAndNullCoordinatesRemove() {
+        index.upsert(1, 12.90, 77.60, FEE);
+        index.upsert(1, 28.60, 77.20, FEE);
+
+        assertThat(index.nearest(12.90, 77.60, 50, 5, null, null)).isEmpty();
+        assertThat(index.nearest(28.60, 77.20, 50, 5, null, null)).hasSize(1);
+
+        index.upsert(1, null, null, FEE);
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void appliesFeeAndDoctorFilters() {
+        index.upsert(1, 12.90, 77.60, new BigDecimal("300"));
+        index.upsert(2, 12.91, 77.60, new BigDecimal("900"));
+        index.upsert(3, 12.92, 77.60, null);
+
+        assertThat(index.nearest(12.90, 77.60, 50, 5, new BigDecimal("500"), null))
+                .extracting(DoctorGeoIndex.Hit::getDoctorId).containsExactly(1L);
+        assertThat(index.nearest(12.90, 77.60, 50, 5, null, id -> id != 1))
+                .extracting(DoctorGeoIndex.Hit::getDoctorId).containsExactly(2L, 3L);
+    }
+}
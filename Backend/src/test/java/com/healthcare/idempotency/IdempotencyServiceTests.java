@@ -0,0 +1,139 @@
+package com.healthcare.idempotency;
+
+import com.healthcare.dto.SignupRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
+
+class IdempotencyServiceTests {
+
+    private final IdempotencyService service = new IdempotencyService(60, 1000, 1000, JsonMapper.builder().build());
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void replaysStoredResponseForSameBody() {
+        ResponseEntity<Integer> first = service.execute("book:1", "k", signup("a@x"), this::run);
+        ResponseEntity<Integer> second = service.execute("book:1", "k", signup("a@x"), this::run);
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentBody() {
+        service.execute("book:1", "k", signup("a@x"), this::run);
+
+        assertThatThrownBy(() -> service.execute("book:1", "k", signup("b@x"), this::run))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(UNPROCESSABLE_CONTENT));
+    }
+
+    @Test
+    void anonymousKeysAreScopedByBody() {
+        service.executeAnonymous("signup", "k", signup("a@x"), this::run);
+        service.executeAnonymous("signup", "k", signup("b@x"), this::run);
+        ResponseEntity<Integer> retry = service.executeAnonymous("signup", "k", signup("a@x"), this::run);
+
+        assertThat(runs.get()).isEqualTo(2);
+        assertThat(retry.getBody()).isEqualTo(1);
+    }
+
+    @Test
+    void failedExecutionCanBeRetried() {
+        assertThatThrownBy(() -> service.execute("book:1", "k", signup("a@x"), () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(service.execute("book:1", "k", signup("a@x"), this::run).getBody()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForFirstResult() throws InterruptedException {
+        IdempotencyService slow = new IdempotencyService(60, 1000, 5000, JsonMapper.builder().build());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<ResponseEntity<Integer>> first = new AtomicReference<>();
+        AtomicReference<ResponseEntity<Integer>> duplicate = new AtomicReference<>();
+
+        Thread original = new Thread(() -> first.set(slow.execute("book:1", "k", signup("a@x"), () -> {
+            started.countDown();
+            await(release);
+            return run();
+        })));
+        original.start();
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+        Thread retry = new Thread(() -> duplicate.set(slow.execute("book:1", "k", signup("a@x"), this::run)));
+        retry.start();
+        retry.join(200);
+        assertThat(retry.isAlive()).isTrue();
+
+        release.countDown();
+        original.join();
+        retry.join();
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(duplicate.get().getBody()).isEqualTo(first.get().getBody());
+        assertThat(duplicate.get().getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void inFlightKeySurvivesSizeEviction() throws InterruptedException {
+        IdempotencyService tiny = new IdempotencyService(60, 1, 5000, JsonMapper.builder().build());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread original = new Thread(() -> tiny.execute("book:1", "k", signup("a@x"), () -> {
+            started.countDown();
+            await(release);
+            return run();
+        }));
+        original.start();
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+        // finished keys push the cache well past its single-entry limit
+        for (int i = 0; i < 50; i++) {
+            tiny.execute("book:1", "other-" + i, signup("a@x"), this::run);
+        }
+
+        Thread retry = new Thread(() -> tiny.execute("book:1", "k", signup("a@x"), this::run));
+        retry.start();
+        retry.join(200);
+        // still waiting on the original rather than running the action again
+        assertThat(retry.isAlive()).isTrue();
+        release.countDown();
+        original.join();
+        retry.join();
+
+        assertThat(runs.get()).isEqualTo(51);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ResponseEntity<Integer> run() {
+        return ResponseEntity.ok(runs.incrementAndGet());
+    }
+
+    private static SignupRequest signup(String email) {
+        SignupRequest r = new SignupRequest();
+        r.setEmail(email);
+        r.setPassword("secret");
+        return r;
+    }
+}
@@ -0,0 +1,105 @@
+package com.healthcare.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator. Every scenario gets its own dispatcher thread that
+ * sends requests on a fixed schedule (one every 1/rate seconds) whatever the
+ * server's response times, so a slow server faces a growing backlog just as it
+ * would in production. Requests sent during warm-up are not recorded.
+ */
+class ArrivalRateRunner {
+
+    private final HttpClient client;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    ArrivalRateRunner(HttpClient client, int maxInFlight) {
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    Map<String, LatencyRecorder> run(List<Scenario> scenarios, Duration warmup, Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        List<Thread> dispatchers = new ArrayList<>();
+        for (Scenario s : scenarios) {
+            if (s.getRatePerSecond() <= 0) {
+                continue;
+            }
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.put(s.getName(), recorder);
+            Thread t = new Thread(() -> dispatch(s, recorder, start, measureFrom, end), "load-" + s.getName());
+            t.setDaemon(true);
+            dispatchers.add(t);
+        }
+        dispatchers.forEach(Thread::start);
+        for (Thread t : dispatchers) {
+            t.join();
+        }
+
+        // let in-flight requests finish so they are counted
+        if (inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+        return recorders;
+    }
+
+    private void dispatch(Scenario s, LatencyRecorder recorder, long start, long measureFrom, long end) {
+        double intervalNanos = 1_000_000_000.0 / s.getRatePerSecond();
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                return;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = intended >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    recorder.recordDropped();
+                }
+                continue;
+            }
+            HttpRequest request;
+            try {
+                request = s.getRequests().get();
+            } catch (RuntimeException e) {
+                inFlight.release();
+                if (measured) {
+                    recorder.record(System.nanoTime() - intended, false, e.getClass().getSimpleName());
+                }
+                continue;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.release();
+                if (measured) {
+                    long latency = System.nanoTime() - intended;
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        recorder.record(latency, false, cause.getClass().getSimpleName());
+                    } else {
+                        recorder.record(latency, response.statusCode() < 400, String.valueOf(response.statusCode()));
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.healthcare.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes for one scenario. Latency is measured from the request's
+ * scheduled send time, not the actual one, so a stalled server shows up in the
+ * percentiles instead of quietly lowering the offered load.
+ */
+class LatencyRecorder {
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private long errors;
+    private long dropped;
+    // response status (or exception type) -> count, to tell server errors from client timeouts
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    synchronized void record(long latencyNanos, boolean success, String outcome) {
+        outcomes.merge(outcome, 1L, Long::sum);
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    // request skipped because max-in-flight was reached; counted as an error
+    synchronized void recordDropped() {
+        dropped++;
+    }
+
+    synchronized Map<String, Object> report(double targetRate, double durationSeconds) {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        long attempted = count + dropped;
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(percentile(sorted, 50)));
+        latency.put("p95", millis(percentile(sorted, 95)));
+        latency.put("p99", millis(percentile(sorted, 99)));
+        latency.put("max", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        latency.put("mean", millis(sorted.length == 0 ? 0 : Arrays.stream(sorted).sum() / sorted.length));
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("targetRate", targetRate);
+        m.put("requests", attempted);
+        m.put("completed", count);
+        m.put("throughput", round((count - errors) / durationSeconds));
+        m.put("errors", errors + dropped);
+        m.put("dropped", dropped);
+        m.put("errorRate", attempted == 0 ? 0.0 : round((double) (errors + dropped) / attempted));
+        m.put("outcomes", new TreeMap<>(outcomes));
+        m.put("latencyMs", latency);
+        return m;
+    }
+
+    // nearest-rank percentile
+    private static long percentile(long[] sorted, int p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000) / 1000.0;
+    }
+}
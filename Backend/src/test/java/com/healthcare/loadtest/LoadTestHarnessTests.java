@@ -0,0 +1,275 @@
+package com.healthcare.loadtest;
+
+import com.healthcare.catalog.SpecializationCatalogService;
+import com.healthcare.geo.DoctorGeoIndex;
+import com.healthcare.reminder.ReminderScheduler;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.UserRepository;
+import com.healthcare.rollup.DoctorStatsRollup;
+import com.healthcare.service.ReviewService;
+import com.healthcare.waitlist.WaitlistMatcher;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * End-to-end load test: boots the full application on a random port against an
+ * in-memory H2 database, seeds it, then drives login, doctor listing, doctor
+ * detail and booking at fixed arrival rates and writes per-endpoint throughput,
+ * latency percentiles and error rates to loadtest.report-file as JSON.
+ *
+ * Excluded from the normal build; run with {@code mvn -Ploadtest test}. Every
+ * loadtest.* property in application-loadtest.properties can be overridden with
+ * -D on the command line.
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTestHarnessTests {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestHarnessTests.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DoctorStatsRollup statsRollup;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private SpecializationCatalogService catalogService;
+
+    @Autowired
+    private DoctorGeoIndex geoIndex;
+
+    @Autowired
+    private WaitlistMatcher waitlistMatcher;
+
+    @Autowired
+    private ReminderScheduler reminderScheduler;
+
+    @Value("${loadtest.seed.doctors}")
+    private int doctors;
+
+    @Value("${loadtest.seed.patients}")
+    private int patients;
+
+    @Value("${loadtest.seed.availability-per-doctor}")
+    private int availabilityPerDoctor;
+
+    @Value("${loadtest.seed.appointments}")
+    private int appointments;
+
+    @Value("${loadtest.seed.random-seed}")
+    private long randomSeed;
+
+    @Value("${loadtest.rate.login}")
+    private double loginRate;
+
+    @Value("${loadtest.rate.doctor-list}")
+    private double doctorListRate;
+
+    @Value("${loadtest.rate.doctor-detail}")
+    private double doctorDetailRate;
+
+    @Value("${loadtest.rate.booking}")
+    private double bookingRate;
+
+    @Value("${loadtest.warmup-seconds}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.duration-seconds}")
+    private int durationSeconds;
+
+    @Value("${loadtest.max-in-flight}")
+    private int maxInFlight;
+
+    @Value("${loadtest.request-timeout-ms}")
+    private long requestTimeoutMs;
+
+    @Value("${loadtest.token-pool}")
+    private int tokenPool;
+
+    @Value("${loadtest.report-file}")
+    private String reportFile;
+
+    private final JsonMapper json = JsonMapper.builder().build();
+
+    private HttpClient client;
+    private String baseUrl;
+
+    @Test
+    void run() throws Exception {
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long seedStart = System.nanoTime();
+        LoadTestSeeder seeder = new LoadTestSeeder(userRepository, doctorRepository, patientRepository,
+                appointmentRepository, new TransactionTemplate(transactionManager), randomSeed, reviewService.score(0, 0));
+        seeder.seed(doctors, patients, availabilityPerDoctor, appointments);
+        log.info("Seeded {} doctors, {} patients, {} availability rows, {} appointments in {} ms",
+                doctors, patients, seeder.getAvailabilityRows(), seeder.getAppointmentRows(),
+                (System.nanoTime() - seedStart) / 1_000_000);
+        // the seed's rollup deltas would otherwise be written during the measured run
+        statsRollup.awaitPending();
+        // these loaded from the empty database at startup, before the seed ran
+        catalogService.refresh();
+        geoIndex.load();
+        waitlistMatcher.load();
+        reminderScheduler.load();
+
+        // booking needs a logged-in patient; tokens are fetched up front so login cost stays in its own scenario
+        int pool = Math.min(tokenPool, seeder.getPatientIds().size());
+        List<String> tokens = IntStream.range(0, pool).parallel()
+                .mapToObj(i -> login(seeder.getPatientEmails().get(i)))
+                .toList();
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("login", loginRate, () -> loginRequest(pick(seeder.getAllEmails()))),
+                new Scenario("doctorList", doctorListRate, () -> get("/api/doctors")),
+                new Scenario("doctorDetail", doctorDetailRate, () -> get("/api/doctors/" + pick(seeder.getDoctorIds()))),
+                new Scenario("booking", bookingRate, () -> {
+                    int i = ThreadLocalRandom.current().nextInt(pool);
+                    return bookingRequest(tokens.get(i), seeder.getPatientIds().get(i), pick(seeder.getDoctorIds()));
+                })
+        );
+
+        ArrivalRateRunner runner = new ArrivalRateRunner(client, maxInFlight);
+        Map<String, LatencyRecorder> results = runner.run(scenarios, Duration.ofSeconds(warmupSeconds), Duration.ofSeconds(durationSeconds));
+
+        writeReport(scenarios, results, seeder);
+    }
+
+    private void writeReport(List<Scenario> scenarios, Map<String, LatencyRecorder> results, LoadTestSeeder seeder) throws IOException {
+        Map<String, Object> seed = new LinkedHashMap<>();
+        seed.put("users", seeder.getAllEmails().size());
+        seed.put("doctors", seeder.getDoctorIds().size());
+        seed.put("patients", seeder.getPatientIds().size());
+        seed.put("availability", seeder.getAvailabilityRows());
+        seed.put("appointments", seeder.getAppointmentRows());
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Scenario s : scenarios) {
+            LatencyRecorder r = results.get(s.getName());
+            if (r != null) {
+                endpoints.put(s.getName(), r.report(s.getRatePerSecond(), durationSeconds));
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("warmupSeconds", warmupSeconds);
+        report.put("durationSeconds", durationSeconds);
+        report.put("seed", seed);
+        report.put("endpoints", endpoints);
+
+        String out = json.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        Path path = Path.of(reportFile);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, out);
+        log.info("Load test report written to {}:\n{}", path.toAbsolutePath(), out);
+    }
+
+    private String login(String email) {
+        try {
+            HttpResponse<String> resp = client.send(loginRequest(email), HttpResponse.BodyHandlers.ofString());
+            if (resp.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + email + ": " + resp.statusCode());
+            }
+            JsonNode body = json.readTree(resp.body());
+            return body.get("accessToken").asString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest loginRequest(String email) {
+        return post("/api/auth/login", Map.of("email", email, "password", LoadTestSeeder.PASSWORD), null);
+    }
+
+    private HttpRequest bookingRequest(String token, Long patientId, Long doctorId) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        String at = LocalDate.now().plusDays(1 + r.nextInt(30)).atTime(9 + r.nextInt(8), r.nextBoolean() ? 0 : 30).toString();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("patientId", patientId);
+        body.put("doctorId", doctorId);
+        body.put("scheduledAt", at);
+        body.put("type", "IN_PERSON");
+        return post("/api/appointments/book", body, token);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)));
+        if (token != null) {
+            b.header("Authorization", "Bearer " + token);
+        }
+        return b.build();
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
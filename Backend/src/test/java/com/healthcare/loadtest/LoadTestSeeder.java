@@ -0,0 +1,199 @@
+package com.healthcare.loadtest;
+
+import com.healthcare.Entity.Appointment;
+import com.healthcare.Entity.DaysOfWeek;
+import com.healthcare.Entity.Doctor;
+import com.healthcare.Entity.DoctorAvailability;
+import com.healthcare.Entity.Patient;
+import com.healthcare.Entity.Status;
+import com.healthcare.Entity.User;
+import com.healthcare.Entity.UserRole;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.UserRepository;
+import lombok.Getter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the embedded database through the regular repositories, so entity
+ * listeners (geo index, stats rollups) see the data exactly as they would in
+ * production. Everything is derived from one random seed, so runs are repeatable.
+ */
+class LoadTestSeeder {
+
+    static final String PASSWORD = "loadtest";
+
+    private static final String[] CITIES = {"Pune", "Mumbai", "Delhi", "Bengaluru", "Chennai", "Hyderabad"};
+    private static final double[][] CITY_COORDINATES = {
+            {18.52, 73.85}, {19.07, 72.87}, {28.61, 77.20}, {12.97, 77.59}, {13.08, 80.27}, {17.38, 78.48}
+    };
+    private static final DaysOfWeek[] WEEKDAYS = {
+            DaysOfWeek.MONDAY, DaysOfWeek.TUESDAY, DaysOfWeek.WEDNESDAY, DaysOfWeek.THURSDAY,
+            DaysOfWeek.FRIDAY, DaysOfWeek.SATURDAY, DaysOfWeek.SUNDAY
+    };
+    private static final LocalTime DAY_START = LocalTime.of(9, 0);
+    private static final int WORKING_MINUTES = 8 * 60;
+    private static final int MIN_WINDOW_MINUTES = 30;
+    private static final int BATCH = 500;
+
+    private final UserRepository userRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate tx;
+    private final Random random;
+    private final float initialRating;
+
+    @Getter
+    private final List<Long> doctorIds = new ArrayList<>();
+    @Getter
+    private final List<Long> patientIds = new ArrayList<>();
+    @Getter
+    private final List<String> patientEmails = new ArrayList<>();
+    @Getter
+    private final List<String> allEmails = new ArrayList<>();
+    @Getter
+    private long availabilityRows;
+    @Getter
+    private long appointmentRows;
+
+    LoadTestSeeder(UserRepository userRepository, DoctorRepository doctorRepository,
+                   PatientRepository patientRepository, AppointmentRepository appointmentRepository,
+                   TransactionTemplate tx, long randomSeed, float initialRating) {
+        this.userRepository = userRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.tx = tx;
+        this.random = new Random(randomSeed);
+        this.initialRating = initialRating;
+    }
+
+    void seed(int doctors, int patients, int availabilityPerDoctor, int appointments) {
+        int maxAvailability = WEEKDAYS.length * (WORKING_MINUTES / MIN_WINDOW_MINUTES);
+        if (availabilityPerDoctor < 0 || availabilityPerDoctor > maxAvailability) {
+            throw new IllegalArgumentException("loadtest.seed.availability-per-doctor must be between 0 and "
+                    + maxAvailability + ", was " + availabilityPerDoctor);
+        }
+        for (int from = 0; from < doctors; from += BATCH) {
+            int to = Math.min(doctors, from + BATCH);
+            int first = from;
+            tx.executeWithoutResult(s -> {
+                for (int i = first; i < to; i++) {
+                    doctorIds.add(doctorRepository.save(newDoctor(i, availabilityPerDoctor)).getId());
+                }
+            });
+        }
+        for (int from = 0; from < patients; from += BATCH) {
+            int to = Math.min(patients, from + BATCH);
+            int first = from;
+            tx.executeWithoutResult(s -> {
+                for (int i = first; i < to; i++) {
+                    patientIds.add(patientRepository.save(newPatient(i)).getId());
+                }
+            });
+        }
+        for (int from = 0; from < appointments; from += BATCH) {
+            int n = Math.min(appointments, from + BATCH) - from;
+            tx.executeWithoutResult(s -> {
+                List<Appointment> batch = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    batch.add(newAppointment());
+                }
+                appointmentRepository.saveAll(batch);
+            });
+            appointmentRows += n;
+        }
+    }
+
+    private Doctor newDoctor(int i, int availabilityPerDoctor) {
+        User u = userRepository.save(newUser("Doctor", i, "doctor" + i + "@loadtest.local", String.format("8%09d", i), UserRole.DOCTOR));
+        allEmails.add(u.getEmail());
+
+        int city = random.nextInt(CITIES.length);
+        Doctor d = new Doctor();
+        d.setUserDetails(u);
+        d.setLocation(CITIES[city]);
+        // scattered within ~20 km of the city centre
+        d.setLatitude(CITY_COORDINATES[city][0] + (random.nextDouble() - 0.5) * 0.4);
+        d.setLongitude(CITY_COORDINATES[city][1] + (random.nextDouble() - 0.5) * 0.4);
+        d.setConsultationFee(BigDecimal.valueOf(300 + random.nextInt(15) * 100L));
+        d.setRating(initialRating);
+
+        // one row per weekday first; beyond seven, each day's working hours are split into equal windows
+        int perDay = (availabilityPerDoctor + WEEKDAYS.length - 1) / WEEKDAYS.length;
+        int windowMinutes = perDay == 0 ? 0 : WORKING_MINUTES / perDay;
+        List<DoctorAvailability> slots = new ArrayList<>();
+        for (int k = 0; k < availabilityPerDoctor; k++) {
+            LocalTime start = DAY_START.plusMinutes((long) (k / WEEKDAYS.length) * windowMinutes);
+            DoctorAvailability a = new DoctorAvailability();
+            a.setDoctor(d);
+            a.setDayOfWeek(WEEKDAYS[k % WEEKDAYS.length]);
+            a.setStartTime(start);
+            a.setEndTime(start.plusMinutes(windowMinutes));
+            a.setVirtualAllowed(random.nextBoolean());
+            slots.add(a);
+        }
+        d.setAvailabilitySlots(slots);
+        availabilityRows += slots.size();
+        return d;
+    }
+
+    private Patient newPatient(int i) {
+        User u = userRepository.save(newUser("Patient", i, "patient" + i + "@loadtest.local", String.format("9%09d", i), UserRole.PATIENT));
+        allEmails.add(u.getEmail());
+        patientEmails.add(u.getEmail());
+
+        Patient p = new Patient();
+        p.setUser(u);
+        p.setAddress(CITIES[random.nextInt(CITIES.length)]);
+        return p;
+    }
+
+    // spread over the last 60 and next 30 days; past ones mostly completed, future ones booked or confirmed
+    private Appointment newAppointment() {
+        int dayOffset = random.nextInt(90) - 60;
+        LocalDateTime at = LocalDate.now().plusDays(dayOffset).atTime(9 + random.nextInt(8), random.nextBoolean() ? 0 : 30);
+        Status status;
+        if (dayOffset < 0) {
+            status = random.nextInt(10) == 0 ? Status.CANCELLED : Status.COMPLETED;
+        } else {
+            int r = random.nextInt(10);
+            status = r == 0 ? Status.CANCELLED : r < 4 ? Status.CONFIRMED : Status.BOOKED;
+        }
+
+        Appointment a = new Appointment();
+        a.setDoctor(doctorRepository.getReferenceById(randomId(doctorIds)));
+        a.setPatient(patientRepository.getReferenceById(randomId(patientIds)));
+        a.setScheduledAt(at);
+        a.setType(random.nextInt(4) == 0 ? "VIRTUAL" : "IN_PERSON");
+        a.setStatus(status);
+        return a;
+    }
+
+    private User newUser(String kind, int i, String email, String phone, UserRole role) {
+        User u = new User();
+        u.setFirstName(kind);
+        u.setLastName(String.valueOf(i));
+        u.setEmail(email);
+        u.setPassword(PASSWORD);
+        u.setPhone(phone);
+        u.setGender(random.nextBoolean() ? "M" : "F");
+        u.setDob(LocalDate.of(1950 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        u.setRole(role);
+        return u;
+    }
+
+    private Long randomId(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
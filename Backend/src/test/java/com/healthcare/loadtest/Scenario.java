@@ -0,0 +1,19 @@
+package com.healthcare.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.net.http.HttpRequest;
+import java.util.function.Supplier;
+
+/**
+ * One endpoint mix entry: a name for the report, the arrival rate in requests
+ * per second, and a factory producing the next request to send.
+ */
+@Getter
+@AllArgsConstructor
+class Scenario {
+    private final String name;
+    private final double ratePerSecond;
+    private final Supplier<HttpRequest> requests;
+}
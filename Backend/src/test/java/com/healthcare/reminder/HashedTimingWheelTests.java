@@ -0,0 +1,91 @@
+package com.healthcare.reminder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTests {
+
+    // 4 buckets of 10 ms: one revolution every 40 ms
+    private final HashedTimingWheel wheel = new HashedTimingWheel(10, TimeUnit.MILLISECONDS, 4, Runnable::run);
+
+    @AfterEach
+    void stop() {
+        wheel.stop();
+    }
+
+    @Test
+    void overdueTimerFiresOnNextTick() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(2);
+
+        wheel.newTimeout(fired::countDown, 0, TimeUnit.MILLISECONDS);
+        wheel.newTimeout(fired::countDown, -5, TimeUnit.SECONDS);
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(wheel.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    void timerSeveralRoundsOutFiresNoEarlierThanItsDeadline() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] elapsedMs = new long[1];
+
+        wheel.newTimeout(() -> {
+            elapsedMs[0] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            fired.countDown();
+        }, 150, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(elapsedMs[0]).isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    void timersSharingABucketFireInRoundOrder() throws InterruptedException {
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch fired = new CountDownLatch(3);
+
+        // 25, 65 and 105 ms land in the same bucket, one revolution apart
+        wheel.newTimeout(() -> { order.add(3); fired.countDown(); }, 105, TimeUnit.MILLISECONDS);
+        wheel.newTimeout(() -> { order.add(1); fired.countDown(); }, 25, TimeUnit.MILLISECONDS);
+        wheel.newTimeout(() -> { order.add(2); fired.countDown(); }, 65, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void cancelledTimerNeverFires() throws InterruptedException {
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+
+        HashedTimingWheel.Timeout t = wheel.newTimeout(cancelledRuns::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        wheel.newTimeout(later::countDown, 120, TimeUnit.MILLISECONDS);
+
+        assertThat(t.cancel()).isTrue();
+        assertThat(t.cancel()).isFalse();
+        assertThat(wheel.pendingTimeouts()).isEqualTo(1);
+
+        assertThat(later.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledRuns.get()).isZero();
+        assertThat(wheel.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    void cancelAfterFiringReturnsFalse() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+
+        HashedTimingWheel.Timeout t = wheel.newTimeout(fired::countDown, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(t.cancel()).isFalse();
+        assertThat(wheel.pendingTimeouts()).isZero();
+    }
+}
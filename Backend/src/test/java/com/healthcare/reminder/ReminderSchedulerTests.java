@@ -0,0 +1,236 @@
+package com.healthcare.reminder;
+
+import com.healthcare.Entity.Appointment;
+import com.healthcare.Entity.AppointmentReminder;
+import com.healthcare.Entity.Doctor;
+import com.healthcare.Entity.Patient;
+import com.healthcare.Entity.ReminderStatus;
+import com.healthcare.Entity.ReminderType;
+import com.healthcare.Entity.Status;
+import com.healthcare.Entity.User;
+import com.healthcare.repository.AppointmentReminderRepository;
+import com.healthcare.repository.AppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderSchedulerTests {
+
+    private static final long REMINDER_ID = 5L;
+    private static final long APPOINTMENT_ID = 42L;
+
+    private final AppointmentRepository appointments = mock(AppointmentRepository.class);
+    private final AppointmentReminderRepository reminders = mock(AppointmentReminderRepository.class);
+    private final ReminderSender sender = mock(ReminderSender.class);
+    private final List<ReminderScheduler> schedulers = new ArrayList<>();
+
+    private final LocalDateTime at = LocalDateTime.now().plusMinutes(30).withNano(0);
+
+    @BeforeEach
+    void setUp() {
+        when(appointments.findScheduleBetween(any(), any(), any())).thenReturn(List.of());
+        when(reminders.findFiredBetween(any(), any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void stop() {
+        schedulers.forEach(ReminderScheduler::stop);
+    }
+
+    @Test
+    void retriesPendingReminderAndMarksItSent() {
+        pending(at);
+        when(reminders.claimRetry(eq(REMINDER_ID), eq(1), any())).thenReturn(1);
+        booked(Status.BOOKED, at);
+
+        scheduler(sender).load();
+
+        verify(sender, timeout(2000)).send(any());
+        verify(reminders, timeout(2000)).markStatus(eq(REMINDER_ID), eq(ReminderStatus.SENT), any());
+    }
+
+    @Test
+    void leavesRetryClaimedElsewhereAlone() {
+        pending(at);
+        when(reminders.claimRetry(eq(REMINDER_ID), eq(1), any())).thenReturn(0);
+        booked(Status.BOOKED, at);
+
+        scheduler(sender).load();
+
+        verify(reminders, timeout(2000)).claimRetry(eq(REMINDER_ID), eq(1), any());
+        verify(sender, after(200).never()).send(any());
+        verify(reminders, never()).markStatus(anyLong(), any(), any());
+    }
+
+    @Test
+    void onlyOneInstanceDeliversAConcurrentRetry() throws InterruptedException {
+        pending(at);
+        booked(Status.BOOKED, at);
+        // behaves like the conditional update: only the first claim of attempt 1 matches the row
+        AtomicInteger attempts = new AtomicInteger(1);
+        CountDownLatch bothClaiming = new CountDownLatch(2);
+        when(reminders.claimRetry(eq(REMINDER_ID), anyInt(), any())).thenAnswer(inv -> {
+            bothClaiming.countDown();
+            bothClaiming.await(2, TimeUnit.SECONDS);
+            int expected = inv.getArgument(1);
+            return attempts.compareAndSet(expected, expected + 1) ? 1 : 0;
+        });
+        ReminderScheduler first = scheduler(sender);
+        ReminderScheduler second = scheduler(sender);
+
+        Thread t = new Thread(first::load);
+        t.start();
+        second.load();
+        t.join();
+
+        verify(sender, timeout(2000)).send(any());
+        verify(sender, after(200).times(1)).send(any());
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void skipsRetryForCancelledAppointment() {
+        pending(at);
+        when(reminders.claimRetry(eq(REMINDER_ID), eq(1), any())).thenReturn(1);
+        booked(Status.CANCELLED, at);
+
+        scheduler(sender).load();
+
+        verify(reminders, timeout(2000)).markStatus(eq(REMINDER_ID), eq(ReminderStatus.SKIPPED), any());
+        verify(sender, never()).send(any());
+    }
+
+    @Test
+    void skipsRetryForMovedAppointment() {
+        pending(at);
+        when(reminders.claimRetry(eq(REMINDER_ID), eq(1), any())).thenReturn(1);
+        booked(Status.BOOKED, at.plusDays(1));
+
+        scheduler(sender).load();
+
+        verify(reminders, timeout(2000)).markStatus(eq(REMINDER_ID), eq(ReminderStatus.SKIPPED), any());
+        verify(sender, never()).send(any());
+    }
+
+    @Test
+    void skipsRetryOnceAppointmentHasStarted() {
+        LocalDateTime started = LocalDateTime.now().minusMinutes(5);
+        pending(started);
+        when(reminders.claimRetry(eq(REMINDER_ID), eq(1), any())).thenReturn(1);
+        booked(Status.BOOKED, started);
+
+        scheduler(sender).load();
+
+        verify(reminders, timeout(2000)).markStatus(eq(REMINDER_ID), eq(ReminderStatus.SKIPPED), any());
+        verify(sender, never()).send(any());
+    }
+
+    @Test
+    void firedReminderIsMarkedSentOnceEverySenderAccepted() {
+        booked(Status.BOOKED, at);
+        claimsInsert();
+        ReminderSender other = mock(ReminderSender.class);
+
+        // the T-1h reminder is already overdue, so it fires on the next tick
+        scheduler(sender, other).schedule(APPOINTMENT_ID, at);
+
+        verify(sender, timeout(2000)).send(any());
+        verify(other, timeout(2000)).send(any());
+        verify(reminders, timeout(2000)).markStatus(eq(9L), eq(ReminderStatus.SENT), any());
+    }
+
+    @Test
+    void failingSenderLeavesReminderPending() {
+        booked(Status.BOOKED, at);
+        claimsInsert();
+        ReminderSender failing = mock(ReminderSender.class);
+        doThrow(new IllegalStateException("smtp down")).when(failing).send(any());
+
+        scheduler(failing, sender).schedule(APPOINTMENT_ID, at);
+
+        verify(sender, timeout(2000)).send(any());
+        verify(reminders, after(200).never()).markStatus(anyLong(), any(), any());
+    }
+
+    @Test
+    void reminderAlreadyRecordedIsNotSentAgain() {
+        booked(Status.BOOKED, at);
+        when(reminders.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        scheduler(sender).schedule(APPOINTMENT_ID, at);
+
+        verify(reminders, timeout(2000)).saveAndFlush(any());
+        verify(sender, after(200).never()).send(any());
+    }
+
+    private ReminderScheduler scheduler(ReminderSender... senders) {
+        ReminderScheduler s = new ReminderScheduler();
+        ReflectionTestUtils.setField(s, "appointmentRepository", appointments);
+        ReflectionTestUtils.setField(s, "reminderRepository", reminders);
+        ReflectionTestUtils.setField(s, "senders", List.of(senders));
+        ReflectionTestUtils.setField(s, "horizonHours", 48L);
+        ReflectionTestUtils.setField(s, "tickMs", 10L);
+        ReflectionTestUtils.setField(s, "wheelSize", 64);
+        ReflectionTestUtils.setField(s, "senderThreads", 1);
+        ReflectionTestUtils.setField(s, "retryAfterMs", 300000L);
+        s.start();
+        schedulers.add(s);
+        return s;
+    }
+
+    private void pending(LocalDateTime scheduledFor) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{REMINDER_ID, 1, APPOINTMENT_ID, ReminderType.HOUR_BEFORE, scheduledFor});
+        when(reminders.findPendingAttemptedBefore(any())).thenReturn(rows);
+    }
+
+    private void booked(Status status, LocalDateTime scheduledAt) {
+        User user = new User();
+        user.setEmail("patient@example.com");
+        Patient patient = new Patient();
+        patient.setId(7L);
+        patient.setUser(user);
+        Doctor doctor = new Doctor();
+        doctor.setId(3L);
+
+        Appointment a = new Appointment();
+        a.setId(APPOINTMENT_ID);
+        a.setPatient(patient);
+        a.setDoctor(doctor);
+        a.setScheduledAt(scheduledAt);
+        a.setStatus(status);
+        when(appointments.findById(APPOINTMENT_ID)).thenReturn(Optional.of(a));
+    }
+
+    private void claimsInsert() {
+        when(reminders.saveAndFlush(any())).thenAnswer(inv -> {
+            AppointmentReminder r = inv.getArgument(0);
+            assertThat(r.getStatus()).isEqualTo(ReminderStatus.PENDING);
+            r.setId(9L);
+            return r;
+        });
+    }
+}
@@ -0,0 +1,183 @@
+package com.healthcare.rollup;
+
+import com.healthcare.Entity.Appointment;
+import com.healthcare.Entity.Doctor;
+import com.healthcare.Entity.DoctorDailyStats;
+import com.healthcare.Entity.Patient;
+import com.healthcare.Entity.Status;
+import com.healthcare.Entity.User;
+import com.healthcare.Entity.UserRole;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorDailyStatsRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs against the embedded H2 database configured for the load-test profile
+@SpringBootTest
+@ActiveProfiles("loadtest")
+class DoctorStatsRollupTests {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorDailyStatsRepository statsRepository;
+
+    @Autowired
+    private DoctorStatsRollup rollup;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Doctor doctor;
+    private Patient patient;
+    private final LocalDate day = LocalDate.now().plusDays(3);
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        doctor = tx.execute(s -> {
+            Doctor d = new Doctor();
+            d.setUserDetails(userRepository.save(user(UserRole.DOCTOR)));
+            d.setLocation("");
+            d.setConsultationFee(BigDecimal.valueOf(500));
+            return doctorRepository.save(d);
+        });
+        patient = tx.execute(s -> {
+            Patient p = new Patient();
+            p.setUser(userRepository.save(user(UserRole.PATIENT)));
+            p.setAddress("");
+            return patientRepository.save(p);
+        });
+    }
+
+    @Test
+    void bookingsAreAddedToTheirBucket() throws Exception {
+        book();
+        book();
+        rollup.awaitPending();
+
+        assertThat(bucket().getBookedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void transactionCommittedDuringReconcileIsNotCountedTwice() throws Exception {
+        book();
+        rollup.awaitPending();
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch reconciled = new CountDownLatch(1);
+
+        // commits before the reconcile reads the appointments table, but only hands its deltas over afterwards
+        Thread late = new Thread(() -> tx.executeWithoutResult(s -> {
+            appointmentRepository.saveAndFlush(appointment());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    committed.countDown();
+                    await(reconciled);
+                }
+            });
+        }));
+        late.start();
+        assertThat(committed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        rollup.reconcile(day, day);
+        assertThat(bucket().getBookedCount()).isEqualTo(2);
+
+        reconciled.countDown();
+        late.join();
+        rollup.awaitPending();
+
+        assertThat(bucket().getBookedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void transactionStartedAfterReconcileIsAdded() throws Exception {
+        book();
+        rollup.awaitPending();
+        rollup.reconcile(day, day);
+
+        book();
+        rollup.awaitPending();
+
+        assertThat(bucket().getBookedCount()).isEqualTo(2);
+    }
+
+    private void book() {
+        tx.executeWithoutResult(s -> appointmentRepository.save(appointment()));
+    }
+
+    private Appointment appointment() {
+        Appointment a = new Appointment();
+        a.setDoctor(doctor);
+        a.setPatient(patient);
+        a.setScheduledAt(day.atTime(10, 0));
+        a.setType("IN_PERSON");
+        a.setStatus(Status.BOOKED);
+        return a;
+    }
+
+    private DoctorDailyStats bucket() {
+        List<DoctorDailyStats> rows = statsRepository.findByDoctorIdAndDayBetweenOrderByDay(doctor.getId(), day, day);
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+
+    private static User user(UserRole role) {
+        int n = USERS.incrementAndGet();
+        User u = new User();
+        u.setFirstName("Stats");
+        u.setLastName(String.valueOf(n));
+        u.setEmail("stats" + n + "@test.local");
+        u.setPassword("secret");
+        u.setPhone(String.format("7%09d", n));
+        u.setGender("F");
+        u.setDob(LocalDate.of(1980, 1, 1));
+        u.setRole(role);
+        return u;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
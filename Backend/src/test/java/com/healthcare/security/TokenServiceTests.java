@@ -0,0 +1,119 @@
+package com.healthcare.security;
+
+import com.healthcare.Entity.UserRole;
+import com.healthcare.dto.TokenResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+class TokenServiceTests {
+
+    private static final String SECRET = "test-signing-secret-0123456789abcdef";
+
+    private final TokenService tokens = new TokenService(SECRET, 900, 3600);
+
+    @Test
+    void rejectsMissingOrShortSecret() {
+        assertThatThrownBy(() -> new TokenService("", 900, 3600)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new TokenService(null, 900, 3600)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new TokenService("x".repeat(TokenService.MIN_SECRET_BYTES - 1), 900, 3600))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void verifiesIssuedAccessToken() {
+        TokenResponse pair = tokens.issue(7L, UserRole.PATIENT);
+
+        AuthPrincipal p = tokens.verifyAccess(pair.getAccessToken());
+
+        assertThat(p).isNotNull();
+        assertThat(p.getUserId()).isEqualTo(7L);
+        assertThat(p.getRole()).isEqualTo(UserRole.PATIENT);
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = tokens.issue(7L, UserRole.PATIENT).getAccessToken();
+        int dot = token.indexOf('.');
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+        String escalated = payload.replace("|PATIENT|", "|ADMIN|");
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(escalated.getBytes(StandardCharsets.UTF_8)) + token.substring(dot);
+
+        assertThat(tokens.verifyAccess(forged)).isNull();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        TokenService other = new TokenService("another-signing-secret-0123456789abcdef", 900, 3600);
+        String token = other.issue(1L, UserRole.ADMIN).getAccessToken();
+
+        assertThat(tokens.verifyAccess(token)).isNull();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThat(tokens.verifyAccess(null)).isNull();
+        assertThat(tokens.verifyAccess("")).isNull();
+        assertThat(tokens.verifyAccess("no-dot")).isNull();
+        assertThat(tokens.verifyAccess("abc.")).isNull();
+        assertThat(tokens.verifyAccess("!!!.???")).isNull();
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        TokenService expired = new TokenService(SECRET, -1, -1);
+        TokenResponse pair = expired.issue(7L, UserRole.PATIENT);
+
+        assertThat(tokens.verifyAccess(pair.getAccessToken())).isNull();
+        assertThatThrownBy(() -> tokens.refresh(pair.getRefreshToken()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(UNAUTHORIZED));
+    }
+
+    @Test
+    void rejectsWrongTokenType() {
+        TokenResponse pair = tokens.issue(7L, UserRole.DOCTOR);
+
+        assertThat(tokens.verifyAccess(pair.getRefreshToken())).isNull();
+        assertThatThrownBy(() -> tokens.refresh(pair.getAccessToken()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void refreshRotatesAndRevokesPresentedToken() {
+        TokenResponse first = tokens.issue(7L, UserRole.DOCTOR);
+
+        TokenResponse second = tokens.refresh(first.getRefreshToken());
+
+        assertThat(second.getRefreshToken()).isNotEqualTo(first.getRefreshToken());
+        assertThat(tokens.verifyAccess(second.getAccessToken()).getRole()).isEqualTo(UserRole.DOCTOR);
+        assertThatThrownBy(() -> tokens.refresh(first.getRefreshToken()))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(tokens.refresh(second.getRefreshToken())).isNotNull();
+    }
+
+    @Test
+    void revokedRefreshTokenCannotBeUsed() {
+        TokenResponse pair = tokens.issue(7L, UserRole.PATIENT);
+
+        tokens.revoke(pair.getRefreshToken());
+
+        assertThatThrownBy(() -> tokens.refresh(pair.getRefreshToken()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void refusesToIssueWithoutRole() {
+        assertThatThrownBy(() -> tokens.issue(7L, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(FORBIDDEN));
+    }
+}
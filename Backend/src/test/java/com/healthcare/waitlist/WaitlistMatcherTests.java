@@ -0,0 +1,120 @@
+package com.healthcare.waitlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitlistMatcherTests {
+
+    private static final long DOCTOR = 10;
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 15, 9, 0);
+
+    private final WaitlistMatcher matcher = new WaitlistMatcher(30);
+
+    @Test
+    void windowCoversSlotsThatStartInsideIt() {
+        assertThat(matcher.slotsCovered(NINE, NINE.plusMinutes(30))).isEqualTo(1);
+        assertThat(matcher.slotsCovered(NINE, NINE.plusMinutes(31))).isEqualTo(2);
+        assertThat(matcher.slotsCovered(NINE, NINE.plusMinutes(5))).isEqualTo(1);
+        assertThat(matcher.slotsCovered(NINE.plusMinutes(1), NINE.plusMinutes(30))).isZero();
+        assertThat(matcher.slotsCovered(NINE.plusMinutes(10), NINE.plusMinutes(50))).isEqualTo(1);
+        assertThat(matcher.slotsCovered(NINE, NINE.plusHours(2))).isEqualTo(4);
+    }
+
+    @Test
+    void claimsFirstComerForAFreedSlot() {
+        matcher.add(2, DOCTOR, 200, NINE, NINE.plusHours(1));
+        matcher.add(1, DOCTOR, 100, NINE, NINE.plusHours(1));
+
+        assertThat(matcher.claim(DOCTOR, NINE.plusMinutes(30), 0).getEntryId()).isEqualTo(1);
+        assertThat(matcher.claim(DOCTOR, NINE.plusMinutes(30), 0).getEntryId()).isEqualTo(2);
+        assertThat(matcher.claim(DOCTOR, NINE.plusMinutes(30), 0)).isNull();
+    }
+
+    @Test
+    void neverClaimsOutsideTheRequestedWindow() {
+        // covers the 09:00 slot, but only wants 09:00-09:05
+        matcher.add(1, DOCTOR, 100, NINE, NINE.plusMinutes(5));
+
+        assertThat(matcher.claim(DOCTOR, NINE.plusMinutes(20), 0)).isNull();
+        assertThat(matcher.claim(DOCTOR, NINE.plusMinutes(5), 0)).isNull();
+        assertThat(matcher.claim(DOCTOR, NINE.plusMinutes(2), 0).getEntryId()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsNonCoveringTicketWithoutLosingIt() {
+        matcher.add(1, DOCTOR, 100, NINE, NINE.plusMinutes(5));
+        matcher.add(2, DOCTOR, 200, NINE, NINE.plusMinutes(30));
+
+        assertThat(matcher.claim(DOCTOR, NINE.plusMinutes(20), 0).getEntryId()).isEqualTo(2);
+        assertThat(matcher.claim(DOCTOR, NINE, 0).getEntryId()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsExcludedPatientAndKeepsTheirPlace() {
+        matcher.add(1, DOCTOR, 100, NINE, NINE.plusHours(1));
+
+        assertThat(matcher.claim(DOCTOR, NINE, 100)).isNull();
+        assertThat(matcher.claim(DOCTOR, NINE, 0).getEntryId()).isEqualTo(1);
+    }
+
+    @Test
+    void claimTakesTicketOutOfEverySlot() {
+        matcher.add(1, DOCTOR, 100, NINE, NINE.plusHours(2));
+
+        assertThat(matcher.claim(DOCTOR, NINE, 0)).isNotNull();
+        assertThat(matcher.claim(DOCTOR, NINE.plusHours(1), 0)).isNull();
+    }
+
+    @Test
+    void releaseReturnsTicketToTheClaimedSlot() {
+        matcher.add(1, DOCTOR, 100, NINE, NINE.plusHours(1));
+        matcher.add(2, DOCTOR, 200, NINE, NINE.plusHours(1));
+
+        WaitlistMatcher.Ticket t = matcher.claim(DOCTOR, NINE, 0);
+        matcher.release(t);
+
+        assertThat(matcher.claim(DOCTOR, NINE, 0).getEntryId()).isEqualTo(1);
+    }
+
+    @Test
+    void removedEntriesAreSkipped() {
+        matcher.add(1, DOCTOR, 100, NINE, NINE.plusHours(1));
+        matcher.add(2, DOCTOR, 200, NINE, NINE.plusHours(1));
+
+        matcher.remove(1);
+
+        assertThat(matcher.claim(DOCTOR, NINE, 0).getEntryId()).isEqualTo(2);
+        assertThat(matcher.claim(DOCTOR, NINE, 0)).isNull();
+    }
+
+    @Test
+    void doctorsAreMatchedIndependently() {
+        matcher.add(1, DOCTOR, 100, NINE, NINE.plusHours(1));
+
+        assertThat(matcher.claim(DOCTOR + 1, NINE, 0)).isNull();
+        assertThat(matcher.claim(DOCTOR, NINE, 0)).isNotNull();
+    }
+
+    @Test
+    void sweepDropsStartedSlotsAndEndedWindows() {
+        matcher.add(1, DOCTOR, 100, NINE, NINE.plusHours(2));
+        matcher.add(2, DOCTOR, 200, NINE, NINE.plusMinutes(30));
+        assertThat(matcher.queuedSlots()).isEqualTo(4);
+
+        matcher.sweep(NINE.plusMinutes(61));
+
+        // the 10:00 slot is still running, so it stays claimable
+        assertThat(matcher.queuedSlots()).isEqualTo(2);
+        assertThat(matcher.liveTickets()).isEqualTo(1);
+        assertThat(matcher.claim(DOCTOR, NINE.plusMinutes(75), 0).getEntryId()).isEqualTo(1);
+
+        matcher.add(3, DOCTOR, 300, NINE.plusMinutes(90), NINE.plusHours(2));
+        matcher.sweep(NINE.plusHours(2));
+
+        assertThat(matcher.queuedSlots()).isZero();
+        assertThat(matcher.liveTickets()).isZero();
+    }
+}